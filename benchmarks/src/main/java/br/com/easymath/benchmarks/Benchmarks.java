@@ -0,0 +1,38 @@
+package br.com.easymath.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks with the GC profiler, reporting the allocation rate next
+ * to the throughput. Accepts the same arguments as the JMH command line, e.g.
+ * <code>java -jar benchmarks/target/benchmarks.jar Factorial</code>
+ *
+ * @author eduardovalentim
+ */
+public class Benchmarks {
+
+	/**
+	 * Main method
+	 *
+	 * @param args
+	 *            The JMH command line arguments
+	 * @throws CommandLineOptionException
+	 *             If the arguments are invalid
+	 * @throws RunnerException
+	 *             If a benchmark fails
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+
+		new Runner(options).run();
+	}
+}
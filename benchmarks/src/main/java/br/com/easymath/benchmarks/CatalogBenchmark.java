@@ -0,0 +1,64 @@
+package br.com.easymath.benchmarks;
+
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.easymath.Function;
+import br.com.easymath.FunctionCatalog;
+import br.com.easymath.FunctionHandle;
+import br.com.easymath.functions.CoreFunctionCatalog;
+
+/**
+ * Function calls through the catalog: lookup by name on every call against a
+ * function resolved once
+ *
+ * @author eduardovalentim
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogBenchmark {
+
+	private final FunctionCatalog catalog = new CoreFunctionCatalog();
+
+	private final Function<Double> sqrt = catalog.getFunction("sqrt");
+
+	private final FunctionHandle<Double> sqrtHandle = catalog.resolve("sqrt");
+
+	private final MathContext mc = MathContext.DECIMAL64;
+
+	private double x = 42.5d;
+
+	@Benchmark
+	public Number solve() {
+		return catalog.solve("sqrt", mc, x);
+	}
+
+	@Benchmark
+	public double solveAsDouble() {
+		return catalog.solveAsDouble("sqrt", mc, x);
+	}
+
+	@Benchmark
+	public Double resolvedPerform() {
+		return sqrt.perform(mc, x);
+	}
+
+	@Benchmark
+	public double resolvedPerformAsDouble() {
+		return sqrtHandle.performAsDouble(mc, x);
+	}
+}
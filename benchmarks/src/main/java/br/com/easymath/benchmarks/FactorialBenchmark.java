@@ -0,0 +1,42 @@
+package br.com.easymath.benchmarks;
+
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.easymath.functions.FactorialFunction;
+
+/**
+ * The factorial function over a range of inputs
+ *
+ * @author eduardovalentim
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactorialBenchmark {
+
+	@Param({ "5", "20", "100", "1000", "5000" })
+	private int n;
+
+	private final MathContext mc = MathContext.DECIMAL64;
+
+	@Benchmark
+	public BigInteger factorial() {
+		return FactorialFunction.INSTANCE.perform(mc, n);
+	}
+}
@@ -0,0 +1,94 @@
+package br.com.easymath.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.easymath.test.AlgebraMath;
+import br.com.easymath.test.TrigonometryMath;
+
+/**
+ * Generated formula methods: double against BigDecimal, precision against
+ * fixed scale and the typed methods against the varargs entry points
+ *
+ * @author eduardovalentim
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulaBenchmark {
+
+	private final AlgebraMath algebra = new AlgebraMath();
+
+	private final TrigonometryMath trigonometry = new TrigonometryMath();
+
+	private double a = 7.3d;
+
+	private double b = 3.7d;
+
+	private BigDecimal decimalA = new BigDecimal("7.3");
+
+	private BigDecimal decimalB = new BigDecimal("3.7");
+
+	@Benchmark
+	public double squaresDifferenceDouble() {
+		return algebra.squaresDifference(a, b);
+	}
+
+	@Benchmark
+	public double squaresDifferenceVarargs() {
+		return algebra.squaresDifference(new Number[] { a, b });
+	}
+
+	@Benchmark
+	public BigDecimal squaresDifferenceBigDecimal() {
+		return algebra.squaresDifferenceExpansion(decimalA, decimalB);
+	}
+
+	@Benchmark
+	public BigDecimal squaresDifferenceFixedScale() {
+		return algebra.squaresDifferenceFixed(decimalA, decimalB);
+	}
+
+	@Benchmark
+	public BigDecimal squaresDifferenceBigDecimalVarargs() {
+		return algebra.squaresDifferenceExpansion(new Number[] { decimalA, decimalB });
+	}
+
+	@Benchmark
+	public double cubesSumDouble() {
+		return algebra.cubesSum(a, b);
+	}
+
+	@Benchmark
+	public BigDecimal cubesSumBigDecimal() {
+		return algebra.cubesSumExpansion(decimalA, decimalB);
+	}
+
+	@Benchmark
+	public double hypotenuseDouble() {
+		return algebra.hypotenuse(a, b);
+	}
+
+	@Benchmark
+	public double sinABExpansionDouble() {
+		return trigonometry.sinABExpansion(a, b);
+	}
+
+	@Benchmark
+	public BigDecimal sinABBigDecimal() {
+		return trigonometry.sinAB(decimalA, decimalB);
+	}
+}
@@ -0,0 +1,81 @@
+package br.com.easymath.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.easymath.DoubleConversion;
+import br.com.easymath.Numbers;
+
+/**
+ * Cost of the conversion of each number type to BigDecimal, as done by the
+ * varargs methods of the generated classes, against the conversion through
+ * the string
+ *
+ * @author eduardovalentim
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumbersBenchmark {
+
+	@Param({ "Integer", "Long", "Double", "BigInteger", "BigDecimal" })
+	private String type;
+
+	private Number number;
+
+	@Setup
+	public void setup() {
+		switch (type) {
+		case "Integer":
+			number = 12345;
+			break;
+		case "Long":
+			number = 1234567890123L;
+			break;
+		case "Double":
+			number = 1234.5678d;
+			break;
+		case "BigInteger":
+			number = new BigInteger("123456789012345678901234567890");
+			break;
+		default:
+			number = new BigDecimal("1234.5678");
+		}
+	}
+
+	@Benchmark
+	public BigDecimal toBigDecimal() {
+		return Numbers.toBigDecimal(number, 0);
+	}
+
+	@Benchmark
+	public BigDecimal toBigDecimalExact() {
+		return Numbers.toBigDecimal(number, 0, DoubleConversion.EXACT);
+	}
+
+	@Benchmark
+	public BigDecimal throughString() {
+		return new BigDecimal(number.toString());
+	}
+
+	@Benchmark
+	public double toDouble() {
+		return Numbers.toDouble(number, 0);
+	}
+}
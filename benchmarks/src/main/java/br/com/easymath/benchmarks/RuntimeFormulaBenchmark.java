@@ -0,0 +1,59 @@
+package br.com.easymath.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.easymath.runtime.DoubleFormula;
+import br.com.easymath.runtime.FormulaEngine;
+import br.com.easymath.test.AlgebraMath;
+
+/**
+ * A formula compiled at runtime, as a class and interpreted, against the
+ * method generated by the processor
+ *
+ * @author eduardovalentim
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuntimeFormulaBenchmark {
+
+	private static final String FORMULA = "sqrt(a ^ 2 + b ^ 2)";
+
+	private final AlgebraMath algebra = new AlgebraMath();
+
+	private final DoubleFormula compiled = new FormulaEngine(true).compile(FORMULA);
+
+	private final DoubleFormula interpreted = new FormulaEngine(false).compile(FORMULA);
+
+	private double a = 7.3d;
+
+	private double b = 3.7d;
+
+	@Benchmark
+	public double generated() {
+		return algebra.hypotenuse(a, b);
+	}
+
+	@Benchmark
+	public double compiled() {
+		return compiled.evaluateAsDouble(a, b);
+	}
+
+	@Benchmark
+	public double interpreted() {
+		return interpreted.evaluateAsDouble(a, b);
+	}
+}
@@ -0,0 +1,21 @@
+package br.com.easymath;
+
+/**
+ * A batch evaluation over a range of rows of input columns
+ *
+ * @author eduardovalentim
+ */
+@FunctionalInterface
+public interface Batch {
+
+	/**
+	 * Evaluate the rows of the range
+	 *
+	 * @param offset
+	 *            The first row to evaluate
+	 * @param length
+	 *            The number of rows to evaluate
+	 */
+	public void evaluate(int offset, int length);
+
+}
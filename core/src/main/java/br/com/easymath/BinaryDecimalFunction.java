@@ -0,0 +1,32 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A function of two inputs specialized for the {@link BigDecimal} type.
+ * Implementations calculate with the precision of the mathematical context
+ * instead of converting the inputs to <code>double</code>.
+ *
+ * @author eduardovalentim
+ *
+ * @param <T>
+ *            The return type of the generic execution
+ */
+public interface BinaryDecimalFunction<T> extends Function<T> {
+
+	/**
+	 * Execute the calculation with arbitrary precision
+	 *
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @param a
+	 *            The first input for the execution
+	 * @param b
+	 *            The second input for the execution
+	 *
+	 * @return The result of calculation rounded to the context
+	 */
+	public BigDecimal performAsDecimal(MathContext mc, BigDecimal a, BigDecimal b);
+
+}
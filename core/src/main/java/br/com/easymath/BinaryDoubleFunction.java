@@ -0,0 +1,27 @@
+package br.com.easymath;
+
+/**
+ * A function of two inputs specialized for the primitive <code>double</code>
+ * type. Implementations can be invoked without allocating a varargs array or
+ * boxing the inputs and the result.
+ *
+ * @author eduardovalentim
+ *
+ * @param <T>
+ *            The return type of the generic execution
+ */
+public interface BinaryDoubleFunction<T> extends Function<T> {
+
+	/**
+	 * Execute the calculation without boxing
+	 *
+	 * @param a
+	 *            The first input for the execution
+	 * @param b
+	 *            The second input for the execution
+	 *
+	 * @return The result of calculation
+	 */
+	public double performAsDouble(double a, double b);
+
+}
@@ -0,0 +1,25 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+
+/**
+ * The policies to convert a binary floating point number to a
+ * {@link BigDecimal}
+ *
+ * @author eduardovalentim
+ */
+public enum DoubleConversion {
+
+	/**
+	 * The shortest decimal that rounds to the same binary number, as written
+	 * by {@link Double#toString(double)}: <code>0.1d</code> is
+	 * <code>0.1</code>
+	 */
+	SHORTEST,
+
+	/**
+	 * The exact value of the binary number: <code>0.1d</code> is
+	 * <code>0.1000000000000000055511151231257827021181583404541015625</code>
+	 */
+	EXACT
+}
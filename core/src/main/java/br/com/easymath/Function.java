@@ -55,6 +55,11 @@ import java.math.MathContext;
  */
 public interface Function<T> {
 
+	/**
+	 * The arity of functions accepting any number of inputs
+	 */
+	public static final int VARIADIC = -1;
+
 	/**
 	 * Define the name of the function to be used in the catalog
 	 * 
@@ -71,5 +76,43 @@ public interface Function<T> {
      * @return The result of calculation
      */
     public T perform(MathContext mc, Number... inputs);
-    
+
+    /**
+     * Define the number of inputs, checked once by the catalog on the
+     * registration and by the processor on the formulas
+     * 
+     * @return The number of inputs or {@link #VARIADIC} if any number is accepted
+     */
+    public default int arity() {
+        return VARIADIC;
+    }
+
+    /**
+     * Define the kind of numbers the inputs are converted to
+     * 
+     * @return The kind of the inputs
+     */
+    public default NumberKind inputKind() {
+        return NumberKind.ANY;
+    }
+
+    /**
+     * Define the kind of number returned by {@link #perform(MathContext, Number...)}
+     * 
+     * @return The kind of the result
+     */
+    public default NumberKind outputKind() {
+        return NumberKind.ANY;
+    }
+
+    /**
+     * Define if the result depends only on the inputs, without side effects.
+     * Equal calls of pure functions in a formula are executed only once.
+     * 
+     * @return <code>true</code> if the function is pure
+     */
+    public default boolean isPure() {
+        return true;
+    }
+
 }
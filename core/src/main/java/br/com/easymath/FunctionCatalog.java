@@ -3,11 +3,19 @@ package br.com.easymath;
 import static java.text.MessageFormat.format;
 
 import java.math.MathContext;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
+ * A collection of functions found by name. The lookups read a immutable
+ * table without locking and every registration replaces the table by a
+ * copy, so a catalog can be shared by many threads. A {@link #freeze()
+ * frozen} catalog rejects the registrations.
+ * 
  * @author eduardo.valentim
  *
  */
@@ -19,9 +27,14 @@ public class FunctionCatalog {
 	private String name;
 
 	/**
-	 * A collection of correlated functions
+	 * A collection of correlated functions, replaced on every registration
 	 */
-	private Map<String, Function<?>> functions;
+	private volatile Table functions;
+
+	/**
+	 * If the registrations are rejected
+	 */
+	private final boolean frozen;
 
 	/**
 	 * Default public constructor
@@ -35,7 +48,23 @@ public class FunctionCatalog {
 		/*
 		 * Prepare the collection
 		 */
-		this.functions = new HashMap<>();
+		this.functions = Table.EMPTY;
+		this.frozen = false;
+	}
+
+	/**
+	 * Private constructor of a frozen copy
+	 * 
+	 * @param name
+	 *            The name of this catalog
+	 * @param functions
+	 *            The table of functions
+	 */
+	private FunctionCatalog(String name, Table functions) {
+		super();
+		this.name = name;
+		this.functions = functions;
+		this.frozen = true;
 	}
 
 	/**
@@ -119,6 +148,15 @@ public class FunctionCatalog {
 		return name;
 	}
 
+	/**
+	 * Check if the registrations are rejected
+	 * 
+	 * @return <code>true</code> if this catalog is frozen
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
 	/**
 	 * Add a function to this catalog
 	 * 
@@ -129,14 +167,9 @@ public class FunctionCatalog {
 		/*
 		 * Method protection
 		 */
-		if (function == null)
-			throw new IllegalArgumentException("Argument 'function' cannot be null.");
-		if (function.name() == null)
-			throw new IllegalArgumentException("Argument 'function.name()' cannot be null.");
-		if (function.name().isEmpty())
-			throw new IllegalArgumentException("Argument 'function.name()' cannot be empty.");
+		check(function);
 
-		functions.put(function.name(), function);
+		register(Collections.singletonList(function));
 	}
 
 	/**
@@ -152,9 +185,11 @@ public class FunctionCatalog {
 		if (functions == null)
 			throw new IllegalArgumentException("Argument 'functions' cannot be null.");
 		/*
-		 * Add all function one-by-one
+		 * Check all functions before the single copy of the table
 		 */
-		functions.forEach(this::addFunction);
+		functions.forEach(this::check);
+
+		register(functions);
 	}
 
 	/**
@@ -181,16 +216,169 @@ public class FunctionCatalog {
 		/*
 		 * Get a reference to the function by name
 		 */
-		Function<T> function = (Function<T>) functions.get(name);
+		Function<T> function = getFunction(name);
+		/*
+		 * Execute the calculation
+		 */
+		return function.perform(mc, inputs);
+	}
+
+	/**
+	 * Find a function to solve with one primitive input. Functions
+	 * implementing {@link UnaryDoubleFunction} are executed without boxing.
+	 * 
+	 * @param name The name of the function
+	 * @param mc The mathematical context to use
+	 * @param a The formula input
+	 * 
+	 * @return The result of the calculation
+	 */
+	public double solveAsDouble(String name, MathContext mc, double a) {
+		/*
+		 * Method protection
+		 */
+		if (name == null)
+			throw new IllegalArgumentException("Argument 'name' cannot be null.");
+		if (name.isEmpty())
+			throw new IllegalArgumentException("Argument 'name' cannot be empty.");
+		/*
+		 * Execute the calculation with the handle of the function
+		 */
+		return resolve(name).performAsDouble(mc, a);
+	}
+
+	/**
+	 * Find a function to solve with two primitive inputs. Functions
+	 * implementing {@link BinaryDoubleFunction} are executed without boxing.
+	 * 
+	 * @param name The name of the function
+	 * @param mc The mathematical context to use
+	 * @param a The first formula input
+	 * @param b The second formula input
+	 * 
+	 * @return The result of the calculation
+	 */
+	public double solveAsDouble(String name, MathContext mc, double a, double b) {
+		/*
+		 * Method protection
+		 */
+		if (name == null)
+			throw new IllegalArgumentException("Argument 'name' cannot be null.");
+		if (name.isEmpty())
+			throw new IllegalArgumentException("Argument 'name' cannot be empty.");
+		/*
+		 * Execute the calculation with the handle of the function
+		 */
+		return resolve(name).performAsDouble(mc, a, b);
+	}
+
+	/**
+	 * Get a function registered in this catalog. Callers executing the same
+	 * function many times can keep the reference and skip the lookup.
+	 * 
+	 * @param name The name of the function
+	 * @param <T> The return type
+	 * 
+	 * @return The function
+	 */
+	public <T extends Number> Function<T> getFunction(String name) {
+		return this.<T>resolve(name).getFunction();
+	}
+
+	/**
+	 * Check if a function is registered in this catalog
+	 * 
+	 * @param name The name of the function
+	 * 
+	 * @return <code>true</code> if the function is registered
+	 */
+	public boolean contains(String name) {
+		/*
+		 * Method protection
+		 */
+		if (name == null)
+			throw new IllegalArgumentException("Argument 'name' cannot be null.");
+
+		return functions.get(name) != null;
+	}
+
+	/**
+	 * Resolve a function registered in this catalog. The handle is created
+	 * once on the registration and executes the function without lookups
+	 * or checks, later registrations do not change it.
+	 * 
+	 * @param name The name of the function
+	 * @param <T> The return type
+	 * 
+	 * @return The handle of the function
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Number> FunctionHandle<T> resolve(String name) {
+		/*
+		 * Method protection
+		 */
+		if (name == null)
+			throw new IllegalArgumentException("Argument 'name' cannot be null.");
+		if (name.isEmpty())
+			throw new IllegalArgumentException("Argument 'name' cannot be empty.");
+		/*
+		 * Get a reference to the function by name
+		 */
+		FunctionHandle<T> handle = (FunctionHandle<T>) functions.get(name);
 		/*
 		 * Validate if the function exist in catalog
 		 */
-		if (function == null)
+		if (handle == null)
 			throw new IllegalStateException(format("Function name ''{0}'' not found in this catalog.", name));
+
+		return handle;
+	}
+
+	/**
+	 * Resolve many functions registered in this catalog from the same
+	 * version of the catalog
+	 * 
+	 * @param names The names of the functions
+	 * 
+	 * @return The handles of the functions, in the order of the names
+	 */
+	public List<FunctionHandle<? extends Number>> resolveAll(String... names) {
 		/*
-		 * Execute the calculation
+		 * Method protection
 		 */
-		return function.perform(mc, inputs);
+		if (names == null)
+			throw new IllegalArgumentException("Argument 'names' cannot be null.");
+		/*
+		 * Variable declaration
+		 */
+		Table table = functions;
+		List<FunctionHandle<? extends Number>> result = new ArrayList<>(names.length);
+		/*
+		 * For each name
+		 */
+		for (int index = 0; index < names.length; index++) {
+			String name = names[index];
+			/*
+			 * Validate the name
+			 */
+			if (name == null)
+				throw new IllegalArgumentException(format("Argument ''names[{0}]'' cannot be null.", index));
+			if (name.isEmpty())
+				throw new IllegalArgumentException(format("Argument ''names[{0}]'' cannot be empty.", index));
+			/*
+			 * Get a reference to the function by name
+			 */
+			@SuppressWarnings("unchecked")
+			FunctionHandle<? extends Number> handle = (FunctionHandle<? extends Number>) table.get(name);
+			if (handle == null)
+				throw new IllegalStateException(format("Function name ''{0}'' not found in this catalog.", name));
+
+			result.add(handle);
+		}
+		/*
+		 * Result
+		 */
+		return result;
 	}
 
 	/**
@@ -206,6 +394,10 @@ public class FunctionCatalog {
 		 */
 		if (catalogs == null)
 			throw new IllegalArgumentException("Argument 'catalogs' cannot be null.");
+		/*
+		 * Variable declaration
+		 */
+		List<Function<?>> joined = new ArrayList<>();
 		/*
 		 * For each catalog
 		 */
@@ -218,14 +410,29 @@ public class FunctionCatalog {
 			/*
 			 * Get a reference for all function in catalog
 			 */
-			this.addAllFunctions(catalogs[index].functions.values());
+			joined.addAll(catalogs[index].functions.values);
 		}
+		/*
+		 * Add all at once, the last catalogs override the first
+		 */
+		this.addAllFunctions(joined);
 		/*
 		 * Return the result
 		 */
 		return this;
 	}
 
+	/**
+	 * Create a frozen copy of this catalog. The copy rejects registrations,
+	 * including the {@link #join(FunctionCatalog...) join} of other catalogs
+	 * into it.
+	 * 
+	 * @return This catalog if already frozen, a frozen copy otherwise
+	 */
+	public FunctionCatalog freeze() {
+		return frozen ? this : new FunctionCatalog(name, functions);
+	}
+
 	/**
 	 * Create a new catalog based on the functions
 	 * 
@@ -262,4 +469,98 @@ public class FunctionCatalog {
 		 */
 		return result;
 	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void check(Function<?> function) {
+		if (function == null)
+			throw new IllegalArgumentException("Argument 'function' cannot be null.");
+		if (function.name() == null)
+			throw new IllegalArgumentException("Argument 'function.name()' cannot be null.");
+		if (function.name().isEmpty())
+			throw new IllegalArgumentException("Argument 'function.name()' cannot be empty.");
+		if (function.arity() < Function.VARIADIC)
+			throw new IllegalArgumentException("Argument 'function.arity()' cannot be negative.");
+		if (function.inputKind() == null)
+			throw new IllegalArgumentException("Argument 'function.inputKind()' cannot be null.");
+		if (function.outputKind() == null)
+			throw new IllegalArgumentException("Argument 'function.outputKind()' cannot be null.");
+		/*
+		 * The primitive specializations must agree with the declared arity
+		 */
+		int arity = function.arity();
+		boolean unary = function instanceof UnaryDoubleFunction || function instanceof UnaryDecimalFunction;
+		boolean binary = function instanceof BinaryDoubleFunction || function instanceof BinaryDecimalFunction;
+		if (arity != Function.VARIADIC && ((unary && arity != 1) || (binary && arity != 2)))
+			throw new IllegalArgumentException(format(
+					"Argument ''function.arity()'' of ''{0}'' does not match its specializations.", function.name()));
+	}
+
+	private synchronized void register(Collection<Function<?>> added) {
+		if (frozen)
+			throw new UnsupportedOperationException(format("The catalog ''{0}'' is frozen.", name));
+		/*
+		 * Copy on write, the readers keep the previous table
+		 */
+		Map<String, Function<?>> map = new LinkedHashMap<>();
+		for (Function<?> function : functions.values) {
+			map.put(function.name(), function);
+		}
+		for (Function<?> function : added) {
+			map.put(function.name(), function);
+		}
+		functions = new Table(map.values());
+	}
+
+	/**
+	 * Immutable open addressing table, sized to at most half full so the
+	 * lookups end in one or two probes
+	 */
+	private static final class Table {
+
+		private static final Table EMPTY = new Table(Collections.emptyList());
+
+		private final String[] names;
+
+		private final FunctionHandle<?>[] slots;
+
+		private final int mask;
+
+		private final List<Function<?>> values;
+
+		private Table(Collection<Function<?>> functions) {
+			int capacity = Integer.highestOneBit(Math.max(2, functions.size() * 2) - 1) << 1;
+
+			this.names = new String[capacity];
+			this.slots = new FunctionHandle<?>[capacity];
+			this.mask = capacity - 1;
+			this.values = Collections.unmodifiableList(new ArrayList<>(functions));
+
+			for (Function<?> function : functions) {
+				int index = spread(function.name().hashCode()) & mask;
+				while (names[index] != null) {
+					index = (index + 1) & mask;
+				}
+				names[index] = function.name();
+				slots[index] = new FunctionHandle<>(function);
+			}
+		}
+
+		private FunctionHandle<?> get(String name) {
+			int index = spread(name.hashCode()) & mask;
+			String current;
+			while ((current = names[index]) != null) {
+				if (current.equals(name))
+					return slots[index];
+				index = (index + 1) & mask;
+			}
+			return null;
+		}
+
+		private static int spread(int hash) {
+			return hash ^ (hash >>> 16);
+		}
+	}
 }
@@ -0,0 +1,185 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A function resolved from a catalog. The name was validated and found once,
+ * and the primitive and decimal specializations of the function were
+ * detected once, so the executions skip the lookup and the checks.
+ *
+ * @author eduardovalentim
+ *
+ * @param <T>
+ *            The return type of the generic execution
+ */
+public final class FunctionHandle<T> {
+
+	/**
+	 * The arity of functions accepting any number of inputs
+	 */
+	public static final int VARIADIC = Function.VARIADIC;
+
+	private final Function<T> function;
+
+	private final int arity;
+
+	private final UnaryDoubleFunction<?> unaryDouble;
+
+	private final BinaryDoubleFunction<?> binaryDouble;
+
+	private final UnaryDecimalFunction<?> unaryDecimal;
+
+	private final BinaryDecimalFunction<?> binaryDecimal;
+
+	/**
+	 * Public constructor
+	 *
+	 * @param function
+	 *            The function to execute
+	 */
+	public FunctionHandle(Function<T> function) {
+		/*
+		 * Method protection block
+		 */
+		if (function == null)
+			throw new IllegalArgumentException("Argument 'function' cannot be null.");
+
+		this.function = function;
+		this.unaryDouble = function instanceof UnaryDoubleFunction ? (UnaryDoubleFunction<?>) function : null;
+		this.binaryDouble = function instanceof BinaryDoubleFunction ? (BinaryDoubleFunction<?>) function : null;
+		this.unaryDecimal = function instanceof UnaryDecimalFunction ? (UnaryDecimalFunction<?>) function : null;
+		this.binaryDecimal = function instanceof BinaryDecimalFunction ? (BinaryDecimalFunction<?>) function : null;
+		/*
+		 * The declared number of inputs or the one told by the specializations
+		 */
+		if (function.arity() != VARIADIC) {
+			this.arity = function.arity();
+		} else if (unaryDouble != null || unaryDecimal != null) {
+			this.arity = binaryDouble != null || binaryDecimal != null ? VARIADIC : 1;
+		} else {
+			this.arity = binaryDouble != null || binaryDecimal != null ? 2 : VARIADIC;
+		}
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The name of the function
+	 */
+	public String getName() {
+		return function.name();
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The function to execute
+	 */
+	public Function<T> getFunction() {
+		return function;
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The number of inputs of the function, {@link #VARIADIC} if
+	 *         unknown or variable
+	 */
+	public int getArity() {
+		return arity;
+	}
+
+	/**
+	 * Execute the calculation
+	 *
+	 * @param mc
+	 *            Mathematical context to be used in the execution
+	 * @param inputs
+	 *            Inputs for the execution
+	 * @return The result of calculation
+	 */
+	public T perform(MathContext mc, Number... inputs) {
+		return function.perform(mc, inputs);
+	}
+
+	/**
+	 * Execute the calculation with one primitive input, without boxing if
+	 * the function is a {@link UnaryDoubleFunction}
+	 *
+	 * @param mc
+	 *            Mathematical context to be used in the execution
+	 * @param a
+	 *            The input
+	 * @return The result of calculation
+	 */
+	public double performAsDouble(MathContext mc, double a) {
+		if (unaryDouble != null)
+			return unaryDouble.performAsDouble(a);
+
+		return Numbers.toDouble((Number) function.perform(mc, a), 0);
+	}
+
+	/**
+	 * Execute the calculation with two primitive inputs, without boxing if
+	 * the function is a {@link BinaryDoubleFunction}
+	 *
+	 * @param mc
+	 *            Mathematical context to be used in the execution
+	 * @param a
+	 *            The first input
+	 * @param b
+	 *            The second input
+	 * @return The result of calculation
+	 */
+	public double performAsDouble(MathContext mc, double a, double b) {
+		if (binaryDouble != null)
+			return binaryDouble.performAsDouble(a, b);
+
+		return Numbers.toDouble((Number) function.perform(mc, a, b), 0);
+	}
+
+	/**
+	 * Execute the calculation with one decimal input, with the precision of
+	 * the context if the function is a {@link UnaryDecimalFunction}
+	 *
+	 * @param mc
+	 *            Mathematical context to be used in the execution
+	 * @param a
+	 *            The input
+	 * @return The result of calculation
+	 */
+	public BigDecimal performAsDecimal(MathContext mc, BigDecimal a) {
+		if (unaryDecimal != null)
+			return unaryDecimal.performAsDecimal(mc, a);
+
+		return Numbers.toBigDecimal((Number) function.perform(mc, a), 0);
+	}
+
+	/**
+	 * Execute the calculation with two decimal inputs, with the precision of
+	 * the context if the function is a {@link BinaryDecimalFunction}
+	 *
+	 * @param mc
+	 *            Mathematical context to be used in the execution
+	 * @param a
+	 *            The first input
+	 * @param b
+	 *            The second input
+	 * @return The result of calculation
+	 */
+	public BigDecimal performAsDecimal(MathContext mc, BigDecimal a, BigDecimal b) {
+		if (binaryDecimal != null)
+			return binaryDecimal.performAsDecimal(mc, a, b);
+
+		return Numbers.toBigDecimal((Number) function.perform(mc, a, b), 0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return function.name();
+	}
+}
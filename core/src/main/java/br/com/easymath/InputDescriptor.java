@@ -0,0 +1,127 @@
+package br.com.easymath;
+
+import static java.text.MessageFormat.format;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The names of the inputs of a formula, in the order of the positional
+ * arguments. A caller keeping the values of many inputs in a buffer binds
+ * the layout of the buffer once and evaluates the formulas reading the
+ * buffer by the bound indices, without maps or boxing.
+ *
+ * @author eduardovalentim
+ */
+public final class InputDescriptor {
+
+	private final List<String> names;
+
+	/**
+	 * Public constructor
+	 *
+	 * @param names
+	 *            The names of the inputs, in the positional order
+	 */
+	public InputDescriptor(String... names) {
+		/*
+		 * Method protection block
+		 */
+		if (names == null)
+			throw new IllegalArgumentException("Argument 'names' cannot be null.");
+		for (int index = 0; index < names.length; index++) {
+			if (names[index] == null)
+				throw new IllegalArgumentException(format("Argument ''names[{0}]'' cannot be null.", index));
+		}
+
+		this.names = Collections.unmodifiableList(Arrays.asList(names.clone()));
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The names of the inputs, in the positional order
+	 */
+	public List<String> getNames() {
+		return names;
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The number of inputs
+	 */
+	public int size() {
+		return names.size();
+	}
+
+	/**
+	 * Find the position of a input
+	 *
+	 * @param name
+	 *            The name of the input
+	 * @return The position of the input or -1 if the formula has no such
+	 *         input
+	 */
+	public int indexOf(String name) {
+		return names.indexOf(name);
+	}
+
+	/**
+	 * Bind the inputs to the slots of a buffer
+	 *
+	 * @param layout
+	 *            The names of the values in the buffer, in the order of the
+	 *            slots
+	 * @return The slot of each input, in the positional order
+	 */
+	public int[] bind(List<String> layout) {
+		/*
+		 * Method protection block
+		 */
+		if (layout == null)
+			throw new IllegalArgumentException("Argument 'layout' cannot be null.");
+
+		int[] slots = new int[names.size()];
+		for (int index = 0; index < slots.length; index++) {
+			slots[index] = layout.indexOf(names.get(index));
+			if (slots[index] < 0)
+				throw new IllegalArgumentException(format("Input ''{0}'' not found in the layout.", names.get(index)));
+		}
+		return slots;
+	}
+
+	/**
+	 * Bind the inputs to the slots of a buffer
+	 *
+	 * @param layout
+	 *            The slot of each value in the buffer, by name
+	 * @return The slot of each input, in the positional order
+	 */
+	public int[] bind(Map<String, Integer> layout) {
+		/*
+		 * Method protection block
+		 */
+		if (layout == null)
+			throw new IllegalArgumentException("Argument 'layout' cannot be null.");
+
+		int[] slots = new int[names.size()];
+		for (int index = 0; index < slots.length; index++) {
+			Integer slot = layout.get(names.get(index));
+			if (slot == null)
+				throw new IllegalArgumentException(format("Input ''{0}'' not found in the layout.", names.get(index)));
+			slots[index] = slot;
+		}
+		return slots;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return names.toString();
+	}
+}
@@ -0,0 +1,376 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A mutable decimal number with a fixed scale. The value is kept as a
+ * <code>long</code> unscaled value while it fits, falling back to a
+ * {@link BigDecimal} when a operation overflows, so the arithmetic over small
+ * numbers does not allocate. Every operation stores its result in the
+ * receiver, rounded to the scale with the rounding mode of the receiver.
+ *
+ * Instances are not thread safe.
+ *
+ * @author eduardovalentim
+ */
+public class MutableDecimal {
+
+	private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+			100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+			100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L,
+			1000000000000000000L };
+
+	private static final int MAX_COMPACT_DIGITS = 18;
+
+	private final int scale;
+
+	private final RoundingMode roundingMode;
+
+	private long unscaled;
+
+	private BigDecimal inflated;
+
+	/**
+	 * Public constructor of a zero
+	 *
+	 * @param scale
+	 *            The number of digits after the decimal point
+	 * @param roundingMode
+	 *            The rounding algorithm of the operations
+	 */
+	public MutableDecimal(int scale, RoundingMode roundingMode) {
+		/*
+		 * Method protection block
+		 */
+		if (scale < 0)
+			throw new IllegalArgumentException("Argument 'scale' cannot be negative.");
+		if (roundingMode == null)
+			throw new IllegalArgumentException("Argument 'roundingMode' cannot be null.");
+
+		this.scale = scale;
+		this.roundingMode = roundingMode;
+	}
+
+	/**
+	 * Create a array of zeros with the same scale and rounding mode
+	 *
+	 * @param size
+	 *            The size of the array
+	 * @param scale
+	 *            The number of digits after the decimal point
+	 * @param roundingMode
+	 *            The rounding algorithm of the operations
+	 * @return The array of new instances
+	 */
+	public static MutableDecimal[] workspace(int size, int scale, RoundingMode roundingMode) {
+		MutableDecimal[] workspace = new MutableDecimal[size];
+		for (int i = 0; i < size; i++) {
+			workspace[i] = new MutableDecimal(scale, roundingMode);
+		}
+		return workspace;
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The number of digits after the decimal point
+	 */
+	public int getScale() {
+		return scale;
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The rounding algorithm of the operations
+	 */
+	public RoundingMode getRoundingMode() {
+		return roundingMode;
+	}
+
+	/**
+	 * Set the value from a integer
+	 *
+	 * @param value
+	 *            The new value
+	 * @return This instance
+	 */
+	public MutableDecimal set(long value) {
+		long limit = scale <= MAX_COMPACT_DIGITS ? POWERS_OF_TEN[MAX_COMPACT_DIGITS - scale] : 0L;
+
+		if (value > -limit && value < limit) {
+			unscaled = value * POWERS_OF_TEN[scale];
+			inflated = null;
+		} else {
+			store(BigDecimal.valueOf(value).setScale(scale));
+		}
+		return this;
+	}
+
+	/**
+	 * Set the value from a decimal, rounded to the scale
+	 *
+	 * @param value
+	 *            The new value
+	 * @return This instance
+	 */
+	public MutableDecimal set(BigDecimal value) {
+		/*
+		 * Method protection block
+		 */
+		if (value == null)
+			throw new IllegalArgumentException("Argument 'value' cannot be null.");
+
+		store(value.setScale(scale, roundingMode));
+		return this;
+	}
+
+	/**
+	 * Set the value from other instance, rounded to the scale
+	 *
+	 * @param value
+	 *            The new value
+	 * @return This instance
+	 */
+	public MutableDecimal set(MutableDecimal value) {
+		if (value.scale == scale && value.inflated == null) {
+			unscaled = value.unscaled;
+			inflated = null;
+		} else {
+			set(value.toBigDecimal());
+		}
+		return this;
+	}
+
+	/**
+	 * Set the value to <code>a + b</code>
+	 *
+	 * @param a
+	 *            The first operand
+	 * @param b
+	 *            The second operand
+	 * @return This instance
+	 */
+	public MutableDecimal add(MutableDecimal a, MutableDecimal b) {
+		if (isCompact(a, b)) {
+			long x = a.unscaled;
+			long y = b.unscaled;
+			long r = x + y;
+			if (((x ^ r) & (y ^ r)) >= 0) {
+				unscaled = r;
+				inflated = null;
+				return this;
+			}
+		}
+		store(a.toBigDecimal().add(b.toBigDecimal()).setScale(scale, roundingMode));
+		return this;
+	}
+
+	/**
+	 * Set the value to <code>a - b</code>
+	 *
+	 * @param a
+	 *            The first operand
+	 * @param b
+	 *            The second operand
+	 * @return This instance
+	 */
+	public MutableDecimal subtract(MutableDecimal a, MutableDecimal b) {
+		if (isCompact(a, b)) {
+			long x = a.unscaled;
+			long y = b.unscaled;
+			long r = x - y;
+			if (((x ^ y) & (x ^ r)) >= 0) {
+				unscaled = r;
+				inflated = null;
+				return this;
+			}
+		}
+		store(a.toBigDecimal().subtract(b.toBigDecimal()).setScale(scale, roundingMode));
+		return this;
+	}
+
+	/**
+	 * Set the value to <code>a * b</code>
+	 *
+	 * @param a
+	 *            The first operand
+	 * @param b
+	 *            The second operand
+	 * @return This instance
+	 */
+	public MutableDecimal multiply(MutableDecimal a, MutableDecimal b) {
+		if (isCompact(a, b)) {
+			long x = a.unscaled;
+			long y = b.unscaled;
+			long r = x * y;
+			if (!overflows(x, y, r)) {
+				unscaled = divide(r, POWERS_OF_TEN[scale], roundingMode);
+				inflated = null;
+				return this;
+			}
+		}
+		store(a.toBigDecimal().multiply(b.toBigDecimal()).setScale(scale, roundingMode));
+		return this;
+	}
+
+	/**
+	 * Set the value to <code>a / b</code>
+	 *
+	 * @param a
+	 *            The dividend
+	 * @param b
+	 *            The divisor
+	 * @return This instance
+	 */
+	public MutableDecimal divide(MutableDecimal a, MutableDecimal b) {
+		if (b.signum() == 0)
+			throw new ArithmeticException("Division by zero");
+
+		if (isCompact(a, b) && b.unscaled != Long.MIN_VALUE) {
+			long x = a.unscaled;
+			long factor = POWERS_OF_TEN[scale];
+			long r = x * factor;
+			if (!overflows(x, factor, r)) {
+				unscaled = divide(r, b.unscaled, roundingMode);
+				inflated = null;
+				return this;
+			}
+		}
+		store(a.toBigDecimal().divide(b.toBigDecimal(), scale, roundingMode));
+		return this;
+	}
+
+	/**
+	 * Set the value to the remainder of <code>a / b</code>, with the sign of
+	 * the dividend
+	 *
+	 * @param a
+	 *            The dividend
+	 * @param b
+	 *            The divisor
+	 * @return This instance
+	 */
+	public MutableDecimal remainder(MutableDecimal a, MutableDecimal b) {
+		if (b.signum() == 0)
+			throw new ArithmeticException("Division by zero");
+
+		if (isCompact(a, b)) {
+			unscaled = a.unscaled % b.unscaled;
+			inflated = null;
+		} else {
+			store(a.toBigDecimal().remainder(b.toBigDecimal()).setScale(scale, roundingMode));
+		}
+		return this;
+	}
+
+	/**
+	 * Set the value to <code>-a</code>
+	 *
+	 * @param a
+	 *            The operand
+	 * @return This instance
+	 */
+	public MutableDecimal negate(MutableDecimal a) {
+		if (a.scale == scale && a.inflated == null && a.unscaled != Long.MIN_VALUE) {
+			unscaled = -a.unscaled;
+			inflated = null;
+		} else {
+			store(a.toBigDecimal().negate().setScale(scale, roundingMode));
+		}
+		return this;
+	}
+
+	/**
+	 * The signal of the value
+	 *
+	 * @return -1, 0 or 1 as the value is negative, zero or positive
+	 */
+	public int signum() {
+		return inflated == null ? Long.signum(unscaled) : inflated.signum();
+	}
+
+	/**
+	 * Convert the value to a immutable decimal
+	 *
+	 * @return The value with the scale of this instance
+	 */
+	public BigDecimal toBigDecimal() {
+		return inflated == null ? BigDecimal.valueOf(unscaled, scale) : inflated;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return toBigDecimal().toString();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private boolean isCompact(MutableDecimal a, MutableDecimal b) {
+		return scale <= MAX_COMPACT_DIGITS && a.scale == scale && b.scale == scale && a.inflated == null
+				&& b.inflated == null;
+	}
+
+	private void store(BigDecimal value) {
+		if (value.precision() <= MAX_COMPACT_DIGITS) {
+			unscaled = value.unscaledValue().longValue();
+			inflated = null;
+		} else {
+			inflated = value;
+		}
+	}
+
+	private static boolean overflows(long x, long y, long r) {
+		long ax = Math.abs(x);
+		long ay = Math.abs(y);
+
+		return ((ax | ay) >>> 31 != 0) && ((y != 0 && r / y != x) || (x == Long.MIN_VALUE && y == -1));
+	}
+
+	private static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+		long quotient = dividend / divisor;
+		long remainder = dividend % divisor;
+
+		if (remainder == 0)
+			return quotient;
+
+		int signum = (dividend < 0) == (divisor < 0) ? 1 : -1;
+		long half = Math.abs(divisor) - Math.abs(remainder);
+		int comparison = Long.compare(Math.abs(remainder), half);
+		boolean increment;
+
+		switch (roundingMode) {
+		case UP:
+			increment = true;
+			break;
+		case DOWN:
+			increment = false;
+			break;
+		case CEILING:
+			increment = signum > 0;
+			break;
+		case FLOOR:
+			increment = signum < 0;
+			break;
+		case HALF_UP:
+			increment = comparison >= 0;
+			break;
+		case HALF_DOWN:
+			increment = comparison > 0;
+			break;
+		case HALF_EVEN:
+			increment = comparison > 0 || (comparison == 0 && (quotient & 1) != 0);
+			break;
+		default:
+			throw new ArithmeticException("Rounding necessary");
+		}
+
+		return increment ? quotient + signum : quotient;
+	}
+}
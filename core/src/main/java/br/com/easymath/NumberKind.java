@@ -0,0 +1,29 @@
+package br.com.easymath;
+
+/**
+ * The kinds of numbers a {@link Function} converts its inputs to and returns
+ *
+ * @author eduardovalentim
+ */
+public enum NumberKind {
+
+	/**
+	 * Integer numbers, as <code>long</code> or {@link java.math.BigInteger}
+	 */
+	INTEGER,
+
+	/**
+	 * Binary floating point numbers, as <code>double</code>
+	 */
+	DOUBLE,
+
+	/**
+	 * Decimal numbers, as {@link java.math.BigDecimal}
+	 */
+	DECIMAL,
+
+	/**
+	 * Any {@link Number}, the function decides on each execution
+	 */
+	ANY
+}
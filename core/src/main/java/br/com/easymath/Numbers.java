@@ -3,6 +3,9 @@ package br.com.easymath;
 import static java.text.MessageFormat.format;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utilities to handle numbers
@@ -14,13 +17,50 @@ public class Numbers {
 	private static final String EXCEPTION_MESSAGE_TEMPLATE = "Argument ''inputs[{0}]'' cannot be null.";
 
 	/**
-	 * Convert any number to a BigDecimal
+	 * Double.toString writes the integers below it without exponent
+	 */
+	private static final double SHORTEST_PLAIN_LIMIT = 1e7d;
+
+	/**
+	 * The doubles with magnitude below it are exact in a long, the cast of the
+	 * ones above saturates
+	 */
+	private static final double LONG_LIMIT = 0x1p63d;
+
+	private static final int CACHE_LOW = -128;
+
+	private static final int CACHE_HIGH = 1024;
+
+	private static final BigDecimal[] CACHE = new BigDecimal[CACHE_HIGH - CACHE_LOW + 1];
+
+	static {
+		for (int i = 0; i < CACHE.length; i++) {
+			CACHE[i] = BigDecimal.valueOf(i + CACHE_LOW);
+		}
+	}
+
+	/**
+	 * Convert any number to a BigDecimal, the binary floating point numbers
+	 * by the {@link DoubleConversion#SHORTEST shortest} decimal
 	 * 
 	 * @param number The number to be converted
 	 * @param inputIndex An array index to log if the <code>number</code> is invalid
 	 * @return The number converted to a BigDecimal
 	 */
 	public static BigDecimal toBigDecimal(Number number, int inputIndex) {
+		return toBigDecimal(number, inputIndex, DoubleConversion.SHORTEST);
+	}
+
+	/**
+	 * Convert any number to a BigDecimal. The core number types are converted
+	 * without going through a string.
+	 * 
+	 * @param number The number to be converted
+	 * @param inputIndex An array index to log if the <code>number</code> is invalid
+	 * @param conversion The conversion of the binary floating point numbers
+	 * @return The number converted to a BigDecimal
+	 */
+	public static BigDecimal toBigDecimal(Number number, int inputIndex, DoubleConversion conversion) {
         /*
          * Method protection block
          */
@@ -31,12 +71,25 @@ public class Numbers {
          */
         BigDecimal result;
         /*
-         * Check if the conversion is needed
+         * Check if the conversion is needed, the most common types first
          */
         if (number instanceof BigDecimal) {
-            result = (BigDecimal)number;
+            result = (BigDecimal) number;
+        } else if (number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte || number instanceof AtomicInteger || number instanceof AtomicLong) {
+            result = toBigDecimal(number.longValue());
+        } else if (number instanceof Double) {
+            result = toBigDecimal(number.doubleValue(), conversion);
+        } else if (number instanceof Float) {
+            /*
+             * The shortest decimal of the float, not of the widened double
+             */
+            result = conversion == DoubleConversion.EXACT ? new BigDecimal(number.doubleValue())
+                    : new BigDecimal(number.toString());
+        } else if (number instanceof BigInteger) {
+            result = new BigDecimal((BigInteger) number);
         } else {
-            result = new BigDecimal(number.toString()); 
+            result = new BigDecimal(number.toString());
         }
         /*
          * Return the result
@@ -45,13 +98,51 @@ public class Numbers {
     }
 
 	/**
-	 * Convert any number to a Double
+	 * Convert a integer to a BigDecimal, the small values are shared
+	 * 
+	 * @param value The value to be converted
+	 * @return The value converted to a BigDecimal
+	 */
+	public static BigDecimal toBigDecimal(long value) {
+		if (value >= CACHE_LOW && value <= CACHE_HIGH)
+			return CACHE[(int) value - CACHE_LOW];
+
+		return BigDecimal.valueOf(value);
+	}
+
+	/**
+	 * Convert a binary floating point number to a BigDecimal
+	 * 
+	 * @param value The value to be converted
+	 * @param conversion The conversion policy
+	 * @return The value converted to a BigDecimal
+	 */
+	public static BigDecimal toBigDecimal(double value, DoubleConversion conversion) {
+		BigDecimal result;
+
+		if (conversion == DoubleConversion.EXACT) {
+			result = value == (long) value && Math.abs(value) < LONG_LIMIT ? toBigDecimal((long) value)
+					: new BigDecimal(value);
+		} else if (value == (long) value && Math.abs(value) < SHORTEST_PLAIN_LIMIT) {
+			/*
+			 * The same "n.0" written by Double.toString, without the string
+			 */
+			result = BigDecimal.valueOf((long) value * 10L, 1);
+		} else {
+			result = BigDecimal.valueOf(value);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Convert any number to a double
 	 * 
 	 * @param number The number to be converted
 	 * @param inputIndex An array index to log if the <code>number</code> is invalid
-	 * @return The number converted to a Double
+	 * @return The number converted to a double
 	 */
-	public static Double toDouble(Number number, int inputIndex) {
+	public static double toDouble(Number number, int inputIndex) {
 		/*
 		 * Method protection block
 		 */
@@ -0,0 +1,79 @@
+package br.com.easymath;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fork/join task that splits the rows of a batch evaluation in halves until
+ * they are not larger than the chunk size, evaluating each chunk in parallel.
+ * Chunks never overlap, so results can be written in place.
+ *
+ * @author eduardovalentim
+ */
+public class ParallelBatch extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Batch batch;
+
+	private final int chunk;
+
+	private final int offset;
+
+	private final int length;
+
+	private ParallelBatch(Batch batch, int chunk, int offset, int length) {
+		this.batch = batch;
+		this.chunk = chunk;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * Evaluate the rows of a batch in a pool, returning when all chunks are
+	 * done
+	 *
+	 * @param pool
+	 *            The pool executing the chunks
+	 * @param chunk
+	 *            The minimum number of rows evaluated by a single task
+	 * @param offset
+	 *            The first row to evaluate
+	 * @param length
+	 *            The number of rows to evaluate
+	 * @param batch
+	 *            The evaluation of a range of rows
+	 */
+	public static void invoke(ForkJoinPool pool, int chunk, int offset, int length, Batch batch) {
+		/*
+		 * Method protection block
+		 */
+		if (pool == null)
+			throw new IllegalArgumentException("Argument 'pool' cannot be null.");
+		if (chunk < 1)
+			throw new IllegalArgumentException("Argument 'chunk' must be positive.");
+		if (offset < 0)
+			throw new IllegalArgumentException("Argument 'offset' cannot be negative.");
+		if (length < 0)
+			throw new IllegalArgumentException("Argument 'length' cannot be negative.");
+		if (batch == null)
+			throw new IllegalArgumentException("Argument 'batch' cannot be null.");
+
+		pool.invoke(new ParallelBatch(batch, chunk, offset, length));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void compute() {
+		if (length < 2 * chunk) {
+			batch.evaluate(offset, length);
+		} else {
+			int half = length >>> 1;
+
+			invokeAll(new ParallelBatch(batch, chunk, offset, half),
+					new ParallelBatch(batch, chunk, offset + half, length - half));
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A function of one input specialized for the {@link BigDecimal} type.
+ * Implementations calculate with the precision of the mathematical context
+ * instead of converting the input to <code>double</code>.
+ *
+ * @author eduardovalentim
+ *
+ * @param <T>
+ *            The return type of the generic execution
+ */
+public interface UnaryDecimalFunction<T> extends Function<T> {
+
+	/**
+	 * Execute the calculation with arbitrary precision
+	 *
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @param a
+	 *            The input for the execution
+	 *
+	 * @return The result of calculation rounded to the context
+	 */
+	public BigDecimal performAsDecimal(MathContext mc, BigDecimal a);
+
+}
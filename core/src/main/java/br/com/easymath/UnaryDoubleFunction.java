@@ -0,0 +1,25 @@
+package br.com.easymath;
+
+/**
+ * A function of one input specialized for the primitive <code>double</code>
+ * type. Implementations can be invoked without allocating a varargs array or
+ * boxing the input and the result.
+ *
+ * @author eduardovalentim
+ *
+ * @param <T>
+ *            The return type of the generic execution
+ */
+public interface UnaryDoubleFunction<T> extends Function<T> {
+
+	/**
+	 * Execute the calculation without boxing
+	 *
+	 * @param a
+	 *            The input for the execution
+	 *
+	 * @return The result of calculation
+	 */
+	public double performAsDouble(double a);
+
+}
@@ -45,4 +45,16 @@ public @interface Formula {
 	 * @return The value of this annotation attribute
 	 */
 	public RoundingMode roundingMode() default RoundingMode.HALF_UP;
+
+	/**
+	 * The fixed number of digits after the decimal point of a
+	 * {@link java.math.BigDecimal} formula. When non-negative, every operation
+	 * is rounded to this scale instead of the precision and the formula is
+	 * evaluated over a workspace of {@link br.com.easymath.MutableDecimal} of
+	 * the calling thread, allocating only the result. A negative value (the
+	 * default) evaluates the formula with the precision.
+	 * 
+	 * @return The value of this annotation attribute
+	 */
+	public int scale() default -1;
 }
@@ -1,7 +1,11 @@
 package br.com.easymath.functions;
 
-import br.com.easymath.Function;
+import br.com.easymath.NumberKind;
+import br.com.easymath.UnaryDecimalFunction;
+import br.com.easymath.UnaryDoubleFunction;
+import br.com.easymath.utils.DecimalMath;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 
 import static br.com.easymath.Numbers.toDouble;
@@ -11,19 +15,27 @@ import static br.com.easymath.Numbers.toDouble;
  * <p>
  * Created by PauloHenrique on 06/11/2016.
  */
-public class ACosFunction implements Function<Number> {
+public class ACosFunction extends AbstractFunction<Number>
+        implements UnaryDoubleFunction<Number>, UnaryDecimalFunction<Number> {
 
     /**
      * Public instance
      */
     public static final ACosFunction INSTANCE = new ACosFunction();
 
+    /**
+     * Public constructor
+     */
+    public ACosFunction() {
+        super(1, NumberKind.DOUBLE);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String name() {
-        return "sin";
+        return "acos";
     }
 
     /**
@@ -48,7 +60,22 @@ public class ACosFunction implements Function<Number> {
 		/*
 		 * Result
 		 */
+        return performAsDouble(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double performAsDouble(double a) {
         return Math.acos(a);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal performAsDecimal(MathContext mc, BigDecimal a) {
+        return DecimalMath.acos(a, mc);
+    }
 }
@@ -0,0 +1,65 @@
+package br.com.easymath.functions;
+
+import br.com.easymath.Function;
+import br.com.easymath.NumberKind;
+
+/**
+ * Base of the core functions, with a fixed number of inputs converted to the
+ * same kind of number they return
+ *
+ * @author eduardovalentim
+ *
+ * @param <T>
+ *            The return type of the generic execution
+ */
+public abstract class AbstractFunction<T> implements Function<T> {
+
+	private final int arity;
+
+	private final NumberKind kind;
+
+	/**
+	 * Protected constructor
+	 *
+	 * @param arity
+	 *            The number of inputs
+	 * @param kind
+	 *            The kind of the inputs and of the result
+	 */
+	protected AbstractFunction(int arity, NumberKind kind) {
+		/*
+		 * Method protection block
+		 */
+		if (arity < 0)
+			throw new IllegalArgumentException("Argument 'arity' cannot be negative.");
+		if (kind == null)
+			throw new IllegalArgumentException("Argument 'kind' cannot be null.");
+
+		this.arity = arity;
+		this.kind = kind;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int arity() {
+		return arity;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public NumberKind inputKind() {
+		return kind;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public NumberKind outputKind() {
+		return kind;
+	}
+}
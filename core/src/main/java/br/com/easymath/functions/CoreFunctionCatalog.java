@@ -9,6 +9,11 @@ import br.com.easymath.FunctionCatalog;
  */
 public class CoreFunctionCatalog extends FunctionCatalog {
 
+    /**
+     * The frozen standard catalog, shared by all threads
+     */
+    public static final FunctionCatalog INSTANCE = new CoreFunctionCatalog().freeze();
+
     /**
      * Default public constructor
      */
@@ -25,6 +30,9 @@ public class CoreFunctionCatalog extends FunctionCatalog {
         addFunction(ATanFunction.INSTANCE);
         addFunction(ToRadiansFunction.INSTANCE);
         addFunction(ToDegreesFunction.INSTANCE);
+        addFunction(GammaFunction.INSTANCE);
+        addFunction(LogGammaFunction.INSTANCE);
+        addFunction(LogFactorialFunction.INSTANCE);
     }
 
 }
@@ -1,7 +1,11 @@
 package br.com.easymath.functions;
 
-import br.com.easymath.Function;
+import br.com.easymath.NumberKind;
+import br.com.easymath.UnaryDecimalFunction;
+import br.com.easymath.UnaryDoubleFunction;
+import br.com.easymath.utils.DecimalMath;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 
 import static br.com.easymath.Numbers.toDouble;
@@ -11,13 +15,21 @@ import static br.com.easymath.Numbers.toDouble;
  *
  * Created by PauloHenrique on 06/11/2016.
  */
-public class CosFunction implements Function<Number> {
+public class CosFunction extends AbstractFunction<Number>
+        implements UnaryDoubleFunction<Number>, UnaryDecimalFunction<Number> {
 
     /**
      * Public instance
      */
     public static final CosFunction INSTANCE = new CosFunction();
 
+    /**
+     * Public constructor
+     */
+    public CosFunction() {
+        super(1, NumberKind.DOUBLE);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -48,6 +60,22 @@ public class CosFunction implements Function<Number> {
 		/*
 		 * Result
 		 */
+        return performAsDouble(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double performAsDouble(double a) {
         return Math.cos(a);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal performAsDecimal(MathContext mc, BigDecimal a) {
+        return DecimalMath.cos(a, mc);
+    }
 }
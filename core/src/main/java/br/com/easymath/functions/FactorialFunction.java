@@ -1,22 +1,74 @@
 package br.com.easymath.functions;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import br.com.easymath.Function;
+import br.com.easymath.NumberKind;
+import br.com.easymath.UnaryDecimalFunction;
+import br.com.easymath.UnaryDoubleFunction;
 
 /**
- * Factorial function
+ * Factorial function. Results up to 20! are read from a table of
+ * <code>long</code> values, larger ones are calculated by binary splitting
+ * of the product, so the multiplications are balanced, and the most recent
+ * are kept in a small cache.
  * 
  * @author eduardovalentim
  */
-public class FactorialFunction implements Function<BigInteger> {
+public class FactorialFunction
+		extends AbstractFunction<BigInteger>
+		implements UnaryDoubleFunction<BigInteger>, UnaryDecimalFunction<BigInteger> {
 
 	/**
 	 * Public instance to be used
 	 */
 	public static final FactorialFunction INSTANCE = new FactorialFunction();
-	
+
+	private static final int CACHE_SIZE = 16;
+
+	private static final int LEAF_SIZE = 16;
+
+	private static final long[] LONGS = new long[21];
+
+	private static final double[] DOUBLES = new double[171];
+
+	private static final Map<Long, BigInteger> CACHE = new LinkedHashMap<Long, BigInteger>(CACHE_SIZE, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, BigInteger> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	static {
+		LONGS[0] = 1L;
+		for (int i = 1; i < LONGS.length; i++) {
+			LONGS[i] = LONGS[i - 1] * i;
+		}
+		/*
+		 * Rounded from the exact values, as the generic execution does
+		 */
+		BigInteger fat = BigInteger.ONE;
+		for (int i = 0; i < DOUBLES.length; i++) {
+			if (i > 0) {
+				fat = fat.multiply(BigInteger.valueOf(i));
+			}
+			DOUBLES[i] = fat.doubleValue();
+		}
+	}
+
+	/**
+	 * Public constructor
+	 */
+	public FactorialFunction() {
+		super(1, NumberKind.INTEGER);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -41,30 +93,107 @@ public class FactorialFunction implements Function<BigInteger> {
 		if (inputs[0] == null)
 			throw new IllegalArgumentException("Argument 'inputs[0]' cannot be null.");
 		/*
-		 * Default result
-		 */
-		BigInteger fat = BigInteger.ONE;
-		/*
-		 * Calculate
+		 * Result
 		 */
-		BigInteger signal = BigInteger.ONE;
-		
-		BigInteger val = BigInteger.valueOf(inputs[0].longValue());
-		if (val.compareTo(BigInteger.ZERO) < 0) {
-			signal = signal.negate();
-			val = val.abs();
+		return perform(inputs[0].longValue());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double performAsDouble(double a) {
+		long n = (long) a;
+		double result;
+
+		if (n == 0) {
+			result = 0d;
+		} else if (Math.abs(n) < DOUBLES.length) {
+			result = n < 0 ? -DOUBLES[(int) -n] : DOUBLES[(int) n];
+		} else {
+			result = n < 0 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
 		}
-		
-		if (val.compareTo(BigInteger.ONE) != 0) {
-			do {
-				fat = fat.multiply(val);
-				val = val.subtract(BigInteger.ONE);
-			} while (val.compareTo(BigInteger.ZERO) > 0);
+
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BigDecimal performAsDecimal(MathContext mc, BigDecimal a) {
+		return new BigDecimal(perform(a.longValue()));
+	}
+
+	/**
+	 * Calculate the factorial of a integer. Negative inputs result in the
+	 * negated factorial of the absolute value and zero results in zero.
+	 * 
+	 * @param n
+	 *            The input
+	 * @return The factorial of the input
+	 */
+	public BigInteger perform(long n) {
+		BigInteger result;
+
+		if (n == 0) {
+			result = BigInteger.ZERO;
+		} else if (n < 0) {
+			result = factorial(-n).negate();
+		} else {
+			result = factorial(n);
 		}
-		/*
-		 * Result
-		 */
-		return fat.multiply(signal);
+
+		return result;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static BigInteger factorial(long n) {
+		if (n < LONGS.length)
+			return BigInteger.valueOf(LONGS[(int) n]);
+
+		BigInteger result;
+		synchronized (CACHE) {
+			result = CACHE.get(n);
+		}
+
+		if (result == null) {
+			result = product(LONGS.length, n).multiply(BigInteger.valueOf(LONGS[LONGS.length - 1]));
+
+			synchronized (CACHE) {
+				CACHE.put(n, result);
+			}
+		}
+
+		return result;
+	}
+
+	private static BigInteger product(long from, long to) {
+		BigInteger result;
+
+		if (to - from < LEAF_SIZE) {
+			/*
+			 * Multiply in a long while it does not overflow
+			 */
+			result = BigInteger.ONE;
+			long partial = 1L;
+			for (long i = from; i <= to; i++) {
+				if (partial > Long.MAX_VALUE / i) {
+					result = result.multiply(BigInteger.valueOf(partial));
+					partial = 1L;
+				}
+				partial *= i;
+			}
+			result = result.multiply(BigInteger.valueOf(partial));
+		} else {
+			long middle = (from + to) >>> 1;
+			result = product(from, middle).multiply(product(middle + 1, to));
+		}
+
+		return result;
 	}
 
 }
@@ -0,0 +1,68 @@
+package br.com.easymath.functions;
+
+import java.math.MathContext;
+
+import br.com.easymath.NumberKind;
+import br.com.easymath.Numbers;
+import br.com.easymath.UnaryDoubleFunction;
+import br.com.easymath.utils.DoubleMath;
+
+/**
+ * Gamma function
+ * 
+ * @author eduardovalentim
+ */
+public class GammaFunction extends AbstractFunction<Double> implements UnaryDoubleFunction<Double> {
+
+	/**
+	 * Public instance
+	 */
+	public static final GammaFunction INSTANCE = new GammaFunction();
+	
+	/**
+	 * Public constructor
+	 */
+	public GammaFunction() {
+		super(1, NumberKind.DOUBLE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String name() {
+		return "gamma";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Double perform(MathContext mc, Number... inputs) {
+		/*
+		 * Method protection block
+		 */
+		if (inputs == null)
+			throw new IllegalArgumentException("Argument 'inputs' cannot be null.");
+		if (inputs.length != 1)
+			throw new IllegalArgumentException(
+					"Length mismatch for argument 'inputs'. Expected '1' actual '" + inputs.length + "'");
+		/*
+		 * Typecast inputs
+		 */
+		double x = Numbers.toDouble(inputs[0], 0);
+		/*
+		 * Result
+		 */
+		return performAsDouble(x);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double performAsDouble(double x) {
+		return DoubleMath.gamma(x);
+	}
+
+}
@@ -0,0 +1,69 @@
+package br.com.easymath.functions;
+
+import java.math.MathContext;
+
+import br.com.easymath.NumberKind;
+import br.com.easymath.Numbers;
+import br.com.easymath.UnaryDoubleFunction;
+import br.com.easymath.utils.DoubleMath;
+
+/**
+ * Natural logarithm of the factorial, as <code>lgamma(x + 1)</code>. Large
+ * factorials can be combined by sums of logarithms without overflowing.
+ * 
+ * @author eduardovalentim
+ */
+public class LogFactorialFunction extends AbstractFunction<Double> implements UnaryDoubleFunction<Double> {
+
+	/**
+	 * Public instance
+	 */
+	public static final LogFactorialFunction INSTANCE = new LogFactorialFunction();
+	
+	/**
+	 * Public constructor
+	 */
+	public LogFactorialFunction() {
+		super(1, NumberKind.DOUBLE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String name() {
+		return "lfact";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Double perform(MathContext mc, Number... inputs) {
+		/*
+		 * Method protection block
+		 */
+		if (inputs == null)
+			throw new IllegalArgumentException("Argument 'inputs' cannot be null.");
+		if (inputs.length != 1)
+			throw new IllegalArgumentException(
+					"Length mismatch for argument 'inputs'. Expected '1' actual '" + inputs.length + "'");
+		/*
+		 * Typecast inputs
+		 */
+		double x = Numbers.toDouble(inputs[0], 0);
+		/*
+		 * Result
+		 */
+		return performAsDouble(x);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double performAsDouble(double x) {
+		return DoubleMath.logGamma(x + 1d);
+	}
+
+}
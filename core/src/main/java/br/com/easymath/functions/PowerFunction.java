@@ -2,22 +2,34 @@ package br.com.easymath.functions;
 
 import static br.com.easymath.Numbers.toDouble;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 
-import br.com.easymath.Function;
+import br.com.easymath.BinaryDecimalFunction;
+import br.com.easymath.BinaryDoubleFunction;
+import br.com.easymath.NumberKind;
+import br.com.easymath.utils.DecimalMath;
 
 /**
  * Power function
  * 
  * @author eduardovalentim
  */
-public class PowerFunction implements Function<Number> {
+public class PowerFunction extends AbstractFunction<Number>
+		implements BinaryDoubleFunction<Number>, BinaryDecimalFunction<Number> {
 
 	/**
 	 * Public instance
 	 */
 	public static final PowerFunction INSTANCE = new PowerFunction();
 	
+	/**
+	 * Public constructor
+	 */
+	public PowerFunction() {
+		super(2, NumberKind.DOUBLE);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -47,7 +59,23 @@ public class PowerFunction implements Function<Number> {
 		/*
 		 * Result
 		 */
+		return performAsDouble(base, exponent);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double performAsDouble(double base, double exponent) {
 		return Math.pow(base, exponent);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BigDecimal performAsDecimal(MathContext mc, BigDecimal base, BigDecimal exponent) {
+		return DecimalMath.pow(base, exponent, mc);
+	}
+
 }
@@ -1,7 +1,11 @@
 package br.com.easymath.functions;
 
-import br.com.easymath.Function;
+import br.com.easymath.NumberKind;
+import br.com.easymath.UnaryDecimalFunction;
+import br.com.easymath.UnaryDoubleFunction;
+import br.com.easymath.utils.DecimalMath;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 
 import static br.com.easymath.Numbers.toDouble;
@@ -11,13 +15,21 @@ import static br.com.easymath.Numbers.toDouble;
  *
  * Created by PauloHenrique on 06/11/2016.
  */
-public class SinFunction implements Function<Number> {
+public class SinFunction extends AbstractFunction<Number>
+        implements UnaryDoubleFunction<Number>, UnaryDecimalFunction<Number> {
 
     /**
      * Public instance
      */
     public static final SinFunction INSTANCE = new SinFunction();
 
+    /**
+     * Public constructor
+     */
+    public SinFunction() {
+        super(1, NumberKind.DOUBLE);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -48,7 +60,22 @@ public class SinFunction implements Function<Number> {
 		/*
 		 * Result
 		 */
+        return performAsDouble(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double performAsDouble(double a) {
         return Math.sin(a);
     }
 
-}
\ No newline at end of file
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal performAsDecimal(MathContext mc, BigDecimal a) {
+        return DecimalMath.sin(a, mc);
+    }
+}
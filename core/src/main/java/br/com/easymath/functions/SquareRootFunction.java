@@ -1,22 +1,34 @@
 package br.com.easymath.functions;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 
-import br.com.easymath.Function;
+import br.com.easymath.NumberKind;
 import br.com.easymath.Numbers;
+import br.com.easymath.UnaryDecimalFunction;
+import br.com.easymath.UnaryDoubleFunction;
+import br.com.easymath.utils.DecimalMath;
 
 /**
  * Square root function
  * 
  * @author eduardovalentim
  */
-public class SquareRootFunction implements Function<Double> {
+public class SquareRootFunction extends AbstractFunction<Double>
+		implements UnaryDoubleFunction<Double>, UnaryDecimalFunction<Double> {
 
 	/**
 	 * Public instance
 	 */
 	public static final SquareRootFunction INSTANCE = new SquareRootFunction();
 	
+	/**
+	 * Public constructor
+	 */
+	public SquareRootFunction() {
+		super(1, NumberKind.DOUBLE);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -45,7 +57,23 @@ public class SquareRootFunction implements Function<Double> {
 		/*
 		 * Result
 		 */
+		return performAsDouble(x);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double performAsDouble(double x) {
 		return Math.sqrt(x);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BigDecimal performAsDecimal(MathContext mc, BigDecimal x) {
+		return DecimalMath.sqrt(x, mc);
+	}
+
 }
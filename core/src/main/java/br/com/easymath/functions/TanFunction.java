@@ -1,7 +1,11 @@
 package br.com.easymath.functions;
 
-import br.com.easymath.Function;
+import br.com.easymath.NumberKind;
+import br.com.easymath.UnaryDecimalFunction;
+import br.com.easymath.UnaryDoubleFunction;
+import br.com.easymath.utils.DecimalMath;
 
+import java.math.BigDecimal;
 import java.math.MathContext;
 
 import static br.com.easymath.Numbers.toDouble;
@@ -11,19 +15,27 @@ import static br.com.easymath.Numbers.toDouble;
  *
  * Created by PauloHenrique on 06/11/2016.
  */
-public class TanFunction implements Function<Number> {
+public class TanFunction extends AbstractFunction<Number>
+        implements UnaryDoubleFunction<Number>, UnaryDecimalFunction<Number> {
 
     /**
      * Public instance
      */
     public static final TanFunction INSTANCE = new TanFunction();
 
+    /**
+     * Public constructor
+     */
+    public TanFunction() {
+        super(1, NumberKind.DOUBLE);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String name() {
-        return "sin";
+        return "tan";
     }
 
     /**
@@ -48,7 +60,22 @@ public class TanFunction implements Function<Number> {
 		/*
 		 * Result
 		 */
+        return performAsDouble(a);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double performAsDouble(double a) {
         return Math.tan(a);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal performAsDecimal(MathContext mc, BigDecimal a) {
+        return DecimalMath.tan(a, mc);
+    }
 }
@@ -0,0 +1,523 @@
+package br.com.easymath.utils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Arbitrary precision implementations of the core functions over
+ * {@link BigDecimal}. Every method calculates with a few guard digits over the
+ * precision of the mathematical context and rounds the result to it, so the
+ * cost grows with the requested precision. A context with unlimited precision
+ * (zero) is only exact for integer powers, the other functions use the
+ * precision of {@link MathContext#DECIMAL128} in this case.
+ *
+ * @author eduardovalentim
+ */
+public class DecimalMath {
+
+	private static final int GUARD_DIGITS = 10;
+
+	private static final int MAX_ITERATIONS = 10000;
+
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+	private static final BigDecimal HALF = new BigDecimal("0.5");
+
+	private static final BigDecimal ONE_HUNDRED_EIGHTY = BigDecimal.valueOf(180);
+
+	private static BigDecimal piDigits = BigDecimal.ZERO;
+
+	private DecimalMath() {
+		super();
+	}
+
+	/**
+	 * The power function. Integer exponents are calculated by repeated
+	 * squaring, the others as <code>exp(exponent * ln(base))</code>.
+	 *
+	 * @param base
+	 *            The base
+	 * @param exponent
+	 *            The exponent
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The base raised to the exponent
+	 */
+	public static BigDecimal pow(BigDecimal base, BigDecimal exponent, MathContext mc) {
+		/*
+		 * Integer exponents
+		 */
+		if (isInteger(exponent)) {
+			try {
+				int n = exponent.intValueExact();
+				if (Math.abs(n) <= 999999999)
+					return base.pow(n, mc);
+			} catch (ArithmeticException ex) {
+				/* Too large for repeated squaring, calculated with logarithms */
+			}
+		}
+		/*
+		 * Fractional exponents
+		 */
+		if (base.signum() < 0)
+			throw new ArithmeticException("Negative base with a non integer exponent: " + base + " ^ " + exponent);
+		if (base.signum() == 0) {
+			if (exponent.signum() <= 0)
+				throw new ArithmeticException("Zero base with a non positive exponent: " + exponent);
+			return BigDecimal.ZERO;
+		}
+
+		MathContext working = working(mc, 0);
+		return exp(exponent.multiply(ln(base, working), working), working).round(result(mc));
+	}
+
+	/**
+	 * The square root, by Newton's method
+	 *
+	 * @param x
+	 *            The input
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The square root of the input
+	 */
+	public static BigDecimal sqrt(BigDecimal x, MathContext mc) {
+		if (x.signum() < 0)
+			throw new ArithmeticException("Square root of a negative number: " + x);
+		if (x.signum() == 0)
+			return BigDecimal.ZERO;
+
+		MathContext working = working(mc, 0);
+		/*
+		 * Move the point by a even number of digits, keeping the mantissa in
+		 * the range of a double for the first approximation
+		 */
+		int exponent = exponent(x);
+		int shift = exponent - Math.floorMod(exponent, 2);
+		BigDecimal mantissa = x.movePointLeft(shift);
+
+		BigDecimal y = BigDecimal.valueOf(Math.sqrt(mantissa.doubleValue()));
+		/*
+		 * The double approximation has 15 digits, each iteration doubles them
+		 */
+		int iterations = 2;
+		for (int digits = 15; digits < working.getPrecision(); digits *= 2) {
+			iterations++;
+		}
+		for (int i = 0; i < iterations; i++) {
+			BigDecimal next = y.add(mantissa.divide(y, working)).multiply(HALF, working);
+			if (next.compareTo(y) == 0)
+				break;
+			y = next;
+		}
+
+		return y.movePointRight(shift / 2).round(result(mc));
+	}
+
+	/**
+	 * The exponential function, by the Taylor series of the input halved
+	 * until it is small and squared back
+	 *
+	 * @param x
+	 *            The input
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The Euler's number raised to the input
+	 */
+	public static BigDecimal exp(BigDecimal x, MathContext mc) {
+		if (x.signum() == 0)
+			return BigDecimal.ONE.round(result(mc));
+
+		int halvings = 0;
+		BigDecimal reduced = x;
+		while (reduced.abs().compareTo(HALF) > 0) {
+			reduced = reduced.multiply(HALF);
+			halvings++;
+		}
+		/*
+		 * Each squaring doubles the relative error
+		 */
+		MathContext working = working(mc, halvings / 3 + 1);
+
+		BigDecimal sum = BigDecimal.ONE;
+		BigDecimal term = BigDecimal.ONE;
+		for (int i = 1; i < MAX_ITERATIONS; i++) {
+			term = term.multiply(reduced, working).divide(BigDecimal.valueOf(i), working);
+			if (isNegligible(term, sum, working))
+				break;
+			sum = sum.add(term, working);
+		}
+
+		for (int i = 0; i < halvings; i++) {
+			sum = sum.multiply(sum, working);
+		}
+
+		return sum.round(result(mc));
+	}
+
+	/**
+	 * The natural logarithm, by Halley's method over the mantissa or by the
+	 * series of the inverse hyperbolic tangent near one
+	 *
+	 * @param x
+	 *            The input
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The natural logarithm of the input
+	 */
+	public static BigDecimal ln(BigDecimal x, MathContext mc) {
+		if (x.signum() <= 0)
+			throw new ArithmeticException("Logarithm of a non positive number: " + x);
+		if (x.compareTo(BigDecimal.ONE) == 0)
+			return BigDecimal.ZERO;
+
+		MathContext working = working(mc, 0);
+		/*
+		 * x = mantissa * 10 ^ exponent, with the mantissa in [0.1, 10)
+		 */
+		int exponent = exponent(x);
+		if (exponent == -1) {
+			exponent = 0;
+		}
+		BigDecimal mantissa = x.movePointLeft(exponent);
+
+		BigDecimal result = lnMantissa(mantissa, working);
+		if (exponent != 0) {
+			result = result.add(lnMantissa(BigDecimal.TEN, working).multiply(BigDecimal.valueOf(exponent)), working);
+		}
+
+		return result.round(result(mc));
+	}
+
+	/**
+	 * The sine, by the Taylor series of the input reduced to
+	 * <code>[-pi/2, pi/2]</code>
+	 *
+	 * @param x
+	 *            The input in radians
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The sine of the input
+	 */
+	public static BigDecimal sin(BigDecimal x, MathContext mc) {
+		MathContext working = working(mc, Math.max(0, exponent(x)));
+		BigDecimal pi = pi(working);
+		BigDecimal halfPi = pi.multiply(HALF);
+
+		BigDecimal r = reduce(x, pi, working);
+		if (r.compareTo(halfPi) > 0) {
+			r = pi.subtract(r, working);
+		} else if (r.compareTo(halfPi.negate()) < 0) {
+			r = pi.negate().subtract(r, working);
+		}
+
+		BigDecimal square = r.multiply(r, working);
+		BigDecimal sum = r;
+		BigDecimal term = r;
+		for (int i = 1; i < MAX_ITERATIONS; i++) {
+			term = term.multiply(square, working).divide(BigDecimal.valueOf((2L * i) * (2L * i + 1)), working)
+					.negate();
+			if (isNegligible(term, sum, working))
+				break;
+			sum = sum.add(term, working);
+		}
+
+		return sum.round(result(mc));
+	}
+
+	/**
+	 * The cosine, by the Taylor series of the input reduced to
+	 * <code>[-pi/2, pi/2]</code>
+	 *
+	 * @param x
+	 *            The input in radians
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The cosine of the input
+	 */
+	public static BigDecimal cos(BigDecimal x, MathContext mc) {
+		MathContext working = working(mc, Math.max(0, exponent(x)));
+		BigDecimal pi = pi(working);
+		BigDecimal halfPi = pi.multiply(HALF);
+
+		BigDecimal r = reduce(x, pi, working).abs();
+		boolean negate = false;
+		if (r.compareTo(halfPi) > 0) {
+			r = pi.subtract(r, working);
+			negate = true;
+		}
+
+		BigDecimal square = r.multiply(r, working);
+		BigDecimal sum = BigDecimal.ONE;
+		BigDecimal term = BigDecimal.ONE;
+		for (int i = 1; i < MAX_ITERATIONS; i++) {
+			term = term.multiply(square, working).divide(BigDecimal.valueOf((2L * i - 1) * (2L * i)), working)
+					.negate();
+			if (isNegligible(term, sum, working))
+				break;
+			sum = sum.add(term, working);
+		}
+
+		return (negate ? sum.negate() : sum).round(result(mc));
+	}
+
+	/**
+	 * The tangent, as the sine divided by the cosine
+	 *
+	 * @param x
+	 *            The input in radians
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The tangent of the input
+	 */
+	public static BigDecimal tan(BigDecimal x, MathContext mc) {
+		MathContext working = working(mc, 0);
+
+		return sin(x, working).divide(cos(x, working), working).round(result(mc));
+	}
+
+	/**
+	 * The arc tangent, by the Taylor series of the input reduced below 0.1
+	 *
+	 * @param x
+	 *            The input
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The arc tangent of the input in radians
+	 */
+	public static BigDecimal atan(BigDecimal x, MathContext mc) {
+		if (x.signum() == 0)
+			return BigDecimal.ZERO;
+
+		MathContext working = working(mc, 0);
+		BigDecimal result;
+
+		if (x.abs().compareTo(BigDecimal.ONE) > 0) {
+			/*
+			 * atan(x) = sign(x) * pi / 2 - atan(1 / x)
+			 */
+			BigDecimal halfPi = pi(working).multiply(HALF);
+			BigDecimal inverse = atanReduced(BigDecimal.ONE.divide(x, working), working);
+			result = (x.signum() > 0 ? halfPi : halfPi.negate()).subtract(inverse, working);
+		} else {
+			result = atanReduced(x, working);
+		}
+
+		return result.round(result(mc));
+	}
+
+	/**
+	 * The arc sine, as <code>atan(x / sqrt(1 - x^2))</code>
+	 *
+	 * @param x
+	 *            The input in <code>[-1, 1]</code>
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The arc sine of the input in radians
+	 */
+	public static BigDecimal asin(BigDecimal x, MathContext mc) {
+		int comparison = x.abs().compareTo(BigDecimal.ONE);
+		if (comparison > 0)
+			throw new ArithmeticException("Arc sine out of the domain [-1, 1]: " + x);
+
+		MathContext working = working(mc, 0);
+		BigDecimal result;
+
+		if (comparison == 0) {
+			BigDecimal halfPi = pi(working).multiply(HALF);
+			result = x.signum() > 0 ? halfPi : halfPi.negate();
+		} else {
+			/*
+			 * 1 - x^2 is exact, keeping the precision near the domain limits
+			 */
+			BigDecimal cosine = sqrt(BigDecimal.ONE.subtract(x.multiply(x)), working);
+			result = atan(x.divide(cosine, working), working);
+		}
+
+		return result.round(result(mc));
+	}
+
+	/**
+	 * The arc cosine, as <code>pi / 2 - asin(x)</code>
+	 *
+	 * @param x
+	 *            The input in <code>[-1, 1]</code>
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The arc cosine of the input in radians
+	 */
+	public static BigDecimal acos(BigDecimal x, MathContext mc) {
+		MathContext working = working(mc, 0);
+
+		return pi(working).multiply(HALF).subtract(asin(x, working), working).round(result(mc));
+	}
+
+	/**
+	 * Convert a angle from degrees to radians
+	 *
+	 * @param x
+	 *            The angle in degrees
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The angle in radians
+	 */
+	public static BigDecimal toRadians(BigDecimal x, MathContext mc) {
+		MathContext working = working(mc, 0);
+
+		return x.multiply(pi(working), working).divide(ONE_HUNDRED_EIGHTY, working).round(result(mc));
+	}
+
+	/**
+	 * Convert a angle from radians to degrees
+	 *
+	 * @param x
+	 *            The angle in radians
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The angle in degrees
+	 */
+	public static BigDecimal toDegrees(BigDecimal x, MathContext mc) {
+		MathContext working = working(mc, 0);
+
+		return x.multiply(ONE_HUNDRED_EIGHTY).divide(pi(working), working).round(result(mc));
+	}
+
+	/**
+	 * The number pi, by Machin's formula. The digits calculated are kept for
+	 * the next calls with the same or a lower precision.
+	 *
+	 * @param mc
+	 *            The mathematical context of the result
+	 * @return The number pi
+	 */
+	public static BigDecimal pi(MathContext mc) {
+		MathContext result = result(mc);
+		BigDecimal value;
+
+		synchronized (DecimalMath.class) {
+			if (piDigits.precision() < result.getPrecision() + GUARD_DIGITS) {
+				MathContext working = working(mc, GUARD_DIGITS);
+				/*
+				 * pi = 16 * atan(1/5) - 4 * atan(1/239)
+				 */
+				BigDecimal a = atanSeries(BigDecimal.ONE.divide(BigDecimal.valueOf(5), working), working);
+				BigDecimal b = atanSeries(BigDecimal.ONE.divide(BigDecimal.valueOf(239), working), working);
+				piDigits = a.multiply(BigDecimal.valueOf(16)).subtract(b.multiply(BigDecimal.valueOf(4)), working);
+			}
+			value = piDigits;
+		}
+
+		return value.round(result);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static MathContext result(MathContext mc) {
+		return mc.getPrecision() == 0 ? new MathContext(MathContext.DECIMAL128.getPrecision(), mc.getRoundingMode())
+				: mc;
+	}
+
+	private static MathContext working(MathContext mc, int extra) {
+		return new MathContext(result(mc).getPrecision() + GUARD_DIGITS + extra, RoundingMode.HALF_EVEN);
+	}
+
+	private static boolean isInteger(BigDecimal x) {
+		return x.signum() == 0 || x.scale() <= 0 || x.stripTrailingZeros().scale() <= 0;
+	}
+
+	private static int exponent(BigDecimal x) {
+		return x.precision() - x.scale() - 1;
+	}
+
+	private static boolean isNegligible(BigDecimal term, BigDecimal sum, MathContext working) {
+		return term.signum() == 0 || exponent(term) < exponent(sum) - working.getPrecision();
+	}
+
+	private static BigDecimal reduce(BigDecimal x, BigDecimal pi, MathContext working) {
+		BigDecimal twoPi = pi.multiply(TWO);
+		BigDecimal r = x.remainder(twoPi, working);
+
+		if (r.compareTo(pi) > 0) {
+			r = r.subtract(twoPi, working);
+		} else if (r.compareTo(pi.negate()) < 0) {
+			r = r.add(twoPi, working);
+		}
+
+		return r;
+	}
+
+	private static BigDecimal lnMantissa(BigDecimal mantissa, MathContext working) {
+		BigDecimal result;
+
+		if (mantissa.subtract(BigDecimal.ONE).abs().compareTo(HALF) < 0) {
+			/*
+			 * ln(x) = 2 * atanh(z), z = (x - 1) / (x + 1)
+			 */
+			BigDecimal z = mantissa.subtract(BigDecimal.ONE).divide(mantissa.add(BigDecimal.ONE), working);
+			BigDecimal square = z.multiply(z, working);
+			BigDecimal power = z;
+			BigDecimal sum = z;
+			for (int i = 1; i < MAX_ITERATIONS; i++) {
+				power = power.multiply(square, working);
+				BigDecimal term = power.divide(BigDecimal.valueOf(2L * i + 1), working);
+				if (isNegligible(term, sum, working))
+					break;
+				sum = sum.add(term, working);
+			}
+			result = sum.multiply(TWO, working);
+		} else {
+			/*
+			 * Halley's method: y = y + 2 * (x - exp(y)) / (x + exp(y))
+			 */
+			result = BigDecimal.valueOf(Math.log(mantissa.doubleValue()));
+			/*
+			 * The double approximation has 15 digits, each iteration triples them
+			 */
+			int iterations = 2;
+			for (int digits = 15; digits < working.getPrecision(); digits *= 3) {
+				iterations++;
+			}
+			for (int i = 0; i < iterations; i++) {
+				BigDecimal e = exp(result, working);
+				BigDecimal delta = mantissa.subtract(e).multiply(TWO).divide(mantissa.add(e), working);
+				result = result.add(delta, working);
+				if (isNegligible(delta, result, working))
+					break;
+			}
+		}
+
+		return result;
+	}
+
+	private static BigDecimal atanReduced(BigDecimal x, MathContext working) {
+		/*
+		 * atan(x) = 2 * atan(x / (1 + sqrt(1 + x^2))), halving until below 0.1
+		 */
+		BigDecimal reduced = x;
+		int halvings = 0;
+		while (reduced.abs().compareTo(BigDecimal.ONE.movePointLeft(1)) > 0) {
+			BigDecimal root = sqrt(BigDecimal.ONE.add(reduced.multiply(reduced, working)), working);
+			reduced = reduced.divide(BigDecimal.ONE.add(root), working);
+			halvings++;
+		}
+
+		return atanSeries(reduced, working).multiply(TWO.pow(halvings));
+	}
+
+	private static BigDecimal atanSeries(BigDecimal x, MathContext working) {
+		BigDecimal square = x.multiply(x, working);
+		BigDecimal power = x;
+		BigDecimal sum = x;
+		for (int i = 1; i < MAX_ITERATIONS; i++) {
+			power = power.multiply(square, working).negate();
+			BigDecimal term = power.divide(BigDecimal.valueOf(2L * i + 1), working);
+			if (isNegligible(term, sum, working))
+				break;
+			sum = sum.add(term, working);
+		}
+
+		return sum;
+	}
+}
@@ -0,0 +1,106 @@
+package br.com.easymath.utils;
+
+import br.com.easymath.functions.FactorialFunction;
+
+/**
+ * Implementations over <code>double</code> of the functions missing in
+ * {@link Math}. The gamma function is calculated in constant time by the
+ * Lanczos approximation (g = 7, n = 9), with about 15 significant digits.
+ *
+ * @author eduardovalentim
+ */
+public class DoubleMath {
+
+	private static final double G = 7d;
+
+	private static final double[] LANCZOS = { 0.99999999999980993d, 676.5203681218851d, -1259.1392167224028d,
+			771.32342877765313d, -176.61502916214059d, 12.507343278686905d, -0.13857109526572012d,
+			9.9843695780195716e-6d, 1.5056327351493116e-7d };
+
+	private static final double LOG_SQRT_TWO_PI = 0.5d * Math.log(2d * Math.PI);
+
+	private static final int MAX_FACTORIAL = 170;
+
+	private DoubleMath() {
+		super();
+	}
+
+	/**
+	 * The gamma function. Integers from 2 to 171 result in the factorial of
+	 * the previous integer, rounded from the exact value.
+	 *
+	 * @param x
+	 *            The input
+	 * @return The gamma of the input, <code>NaN</code> on the poles
+	 */
+	public static double gamma(double x) {
+		double result;
+
+		if (Double.isNaN(x) || (x <= 0d && x == Math.rint(x))) {
+			result = Double.NaN;
+		} else if (x == 1d) {
+			result = 1d;
+		} else if (x == Math.rint(x) && x <= MAX_FACTORIAL + 1) {
+			result = FactorialFunction.INSTANCE.performAsDouble(x - 1d);
+		} else if (x < 0.5d) {
+			/*
+			 * Reflection: gamma(x) * gamma(1 - x) = pi / sin(pi * x)
+			 */
+			result = Math.PI / (Math.sin(Math.PI * x) * gamma(1d - x));
+		} else {
+			double y = x - 1d;
+			double t = y + G + 0.5d;
+			/*
+			 * The power is split in two halves, avoiding a early overflow
+			 */
+			double half = Math.pow(t, (y + 0.5d) / 2d);
+			result = Math.sqrt(2d * Math.PI) * half * Math.exp(-t) * half * lanczos(y);
+		}
+
+		return result;
+	}
+
+	/**
+	 * The natural logarithm of the absolute value of the gamma function
+	 *
+	 * @param x
+	 *            The input
+	 * @return The logarithm of the gamma of the input,
+	 *         <code>Infinity</code> on the poles
+	 */
+	public static double logGamma(double x) {
+		double result;
+
+		if (Double.isNaN(x)) {
+			result = Double.NaN;
+		} else if (x <= 0d && x == Math.rint(x)) {
+			result = Double.POSITIVE_INFINITY;
+		} else if (x == 1d || x == 2d) {
+			result = 0d;
+		} else if (x < 0.5d) {
+			/*
+			 * Reflection: gamma(x) * gamma(1 - x) = pi / sin(pi * x)
+			 */
+			result = Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1d - x);
+		} else {
+			double y = x - 1d;
+			double t = y + G + 0.5d;
+
+			result = LOG_SQRT_TWO_PI + (y + 0.5d) * Math.log(t) - t + Math.log(lanczos(y));
+		}
+
+		return result;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static double lanczos(double y) {
+		double sum = LANCZOS[0];
+		for (int i = 1; i < LANCZOS.length; i++) {
+			sum += LANCZOS[i] / (y + i);
+		}
+		return sum;
+	}
+}
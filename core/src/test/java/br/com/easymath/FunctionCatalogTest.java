@@ -0,0 +1,198 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import br.com.easymath.functions.CoreFunctionCatalog;
+import br.com.easymath.functions.PowerFunction;
+import br.com.easymath.functions.SquareRootFunction;
+
+public class FunctionCatalogTest {
+
+	/**
+	 * Primitive solve test
+	 */
+	@Test
+	public void testSolveAsDoubleUnary() {
+		FunctionCatalog catalog = new CoreFunctionCatalog();
+		double actual = catalog.solveAsDouble("sqrt", MathContext.DECIMAL64, 16d);
+
+		Assert.assertEquals(4d, actual, 0d);
+	}
+
+	/**
+	 * Primitive solve test
+	 */
+	@Test
+	public void testSolveAsDoubleBinary() {
+		FunctionCatalog catalog = new CoreFunctionCatalog();
+		double actual = catalog.solveAsDouble("pow", MathContext.DECIMAL64, 2d, 10d);
+
+		Assert.assertEquals(1024d, actual, 0d);
+	}
+
+	/**
+	 * Primitive solve test with a function without primitive specialization
+	 */
+	@Test
+	public void testSolveAsDoubleBoxedFallback() {
+		FunctionCatalog catalog = new CoreFunctionCatalog();
+		double actual = catalog.solveAsDouble("fat", MathContext.DECIMAL64, 5d);
+
+		Assert.assertEquals(120d, actual, 0d);
+	}
+
+	/**
+	 * Primitive solve test with a unknown function
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testSolveAsDoubleNotFound() {
+		FunctionCatalog catalog = new CoreFunctionCatalog();
+		catalog.solveAsDouble("unknown", MathContext.DECIMAL64, 5d);
+	}
+
+	/**
+	 * Handles are created on the registration and know the arity
+	 */
+	@Test
+	public void testResolve() {
+		FunctionCatalog catalog = new CoreFunctionCatalog();
+		FunctionHandle<Double> sqrt = catalog.resolve("sqrt");
+
+		Assert.assertSame(sqrt, catalog.resolve("sqrt"));
+		Assert.assertSame(SquareRootFunction.INSTANCE, sqrt.getFunction());
+		Assert.assertEquals(1, sqrt.getArity());
+		Assert.assertEquals(2, catalog.resolve("pow").getArity());
+		Assert.assertEquals(4d, sqrt.performAsDouble(MathContext.DECIMAL64, 16d), 0d);
+		Assert.assertEquals(0, new BigDecimal(4).compareTo(sqrt.performAsDecimal(MathContext.DECIMAL64, new BigDecimal(16))));
+		Assert.assertEquals(120d, catalog.resolve("fat").performAsDouble(MathContext.DECIMAL64, 5d), 0d);
+	}
+
+	/**
+	 * The declared arity must agree with the primitive specializations
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testRegisterArityMismatch() {
+		FunctionCatalog.valueOf(new SquareRootFunction() {
+			@Override
+			public int arity() {
+				return 2;
+			}
+		});
+	}
+
+	/**
+	 * Bulk resolution keeps the order of the names
+	 */
+	@Test
+	public void testResolveAll() {
+		List<FunctionHandle<? extends Number>> handles = CoreFunctionCatalog.INSTANCE.resolveAll("pow", "sqrt");
+
+		Assert.assertEquals(2, handles.size());
+		Assert.assertEquals("pow", handles.get(0).getName());
+		Assert.assertEquals("sqrt", handles.get(1).getName());
+	}
+
+	/**
+	 * Bulk resolution with a unknown function
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testResolveAllNotFound() {
+		CoreFunctionCatalog.INSTANCE.resolveAll("pow", "unknown");
+	}
+
+	/**
+	 * The frozen catalog finds all the functions and rejects registrations
+	 */
+	@Test
+	public void testFreeze() {
+		FunctionCatalog catalog = CoreFunctionCatalog.INSTANCE;
+
+		Assert.assertTrue(catalog.isFrozen());
+		Assert.assertSame(catalog, catalog.freeze());
+		Assert.assertSame(PowerFunction.INSTANCE, catalog.getFunction("pow"));
+		Assert.assertEquals(4d, catalog.solveAsDouble("sqrt", MathContext.DECIMAL64, 16d), 0d);
+
+		try {
+			catalog.addFunction(SquareRootFunction.INSTANCE);
+			Assert.fail("Frozen catalog accepted a function");
+		} catch (UnsupportedOperationException e) {
+			/* expected */
+		}
+	}
+
+	/**
+	 * Joined catalogs override the functions of the receiver
+	 */
+	@Test
+	public void testJoinOverrides() {
+		Function<Double> sqrt = new Function<Double>() {
+			@Override
+			public String name() {
+				return "sqrt";
+			}
+
+			@Override
+			public Double perform(MathContext mc, Number... inputs) {
+				return -1d;
+			}
+		};
+		FunctionCatalog catalog = new CoreFunctionCatalog().join(FunctionCatalog.valueOf(sqrt).freeze());
+
+		Assert.assertFalse(catalog.isFrozen());
+		Assert.assertSame(sqrt, catalog.getFunction("sqrt"));
+		Assert.assertSame(PowerFunction.INSTANCE, catalog.getFunction("pow"));
+	}
+
+	/**
+	 * Lookups run while other thread registers functions
+	 */
+	@Test
+	public void testConcurrentRegistration() throws Exception {
+		FunctionCatalog catalog = new CoreFunctionCatalog();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+
+		try {
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 500; i++) {
+					final String name = "f" + i;
+					catalog.addFunction(new Function<Double>() {
+						@Override
+						public String name() {
+							return name;
+						}
+
+						@Override
+						public Double perform(MathContext mc, Number... inputs) {
+							return 0d;
+						}
+					});
+				}
+			}));
+			for (int t = 0; t < 3; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 20000; i++) {
+						Assert.assertSame(PowerFunction.INSTANCE, catalog.getFunction("pow"));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Assert.assertEquals("f499", catalog.getFunction("f499").name());
+	}
+}
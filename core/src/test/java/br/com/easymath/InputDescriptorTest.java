@@ -0,0 +1,36 @@
+package br.com.easymath;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InputDescriptorTest {
+
+	/**
+	 * The inputs are bound to the slots of the layout, in the positional order
+	 */
+	@Test
+	public void testBind() {
+		InputDescriptor descriptor = new InputDescriptor("b", "a");
+		Map<String, Integer> layout = new HashMap<>();
+		layout.put("a", 3);
+		layout.put("b", 0);
+		layout.put("c", 1);
+
+		Assert.assertArrayEquals(new int[] { 2, 0 }, descriptor.bind(Arrays.asList("a", "x", "b")));
+		Assert.assertArrayEquals(new int[] { 0, 3 }, descriptor.bind(layout));
+		Assert.assertEquals(1, descriptor.indexOf("a"));
+		Assert.assertEquals(-1, descriptor.indexOf("c"));
+	}
+
+	/**
+	 * Every input must be in the layout
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testBindMissingInput() {
+		new InputDescriptor("a", "b").bind(Arrays.asList("a"));
+	}
+}
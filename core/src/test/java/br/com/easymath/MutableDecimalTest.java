@@ -0,0 +1,84 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MutableDecimalTest {
+
+	/**
+	 * Every operation agrees with BigDecimal rounded to the scale
+	 */
+	@Test
+	public void testOperationsAgainstBigDecimal() {
+		Random random = new Random(42);
+
+		for (RoundingMode mode : RoundingMode.values()) {
+			if (mode == RoundingMode.UNNECESSARY)
+				continue;
+
+			for (int i = 0; i < 2000; i++) {
+				int scale = random.nextInt(6);
+				BigDecimal x = BigDecimal.valueOf(random.nextLong() % 100000000L, scale);
+				BigDecimal y = BigDecimal.valueOf(random.nextLong() % 100000L, scale);
+				if (y.signum() == 0) {
+					y = BigDecimal.ONE;
+				}
+
+				MutableDecimal a = new MutableDecimal(scale, mode).set(x);
+				MutableDecimal b = new MutableDecimal(scale, mode).set(y);
+				MutableDecimal r = new MutableDecimal(scale, mode);
+
+				Assert.assertEquals(x.add(y), r.add(a, b).toBigDecimal());
+				Assert.assertEquals(x.subtract(y), r.subtract(a, b).toBigDecimal());
+				Assert.assertEquals(x.multiply(y).setScale(scale, mode), r.multiply(a, b).toBigDecimal());
+				Assert.assertEquals(x.divide(y, scale, mode), r.divide(a, b).toBigDecimal());
+				Assert.assertEquals(x.remainder(y), r.remainder(a, b).toBigDecimal());
+				Assert.assertEquals(x.negate(), r.negate(a).toBigDecimal());
+			}
+		}
+	}
+
+	/**
+	 * Results beyond the long range fall back to BigDecimal and come back
+	 */
+	@Test
+	public void testOverflow() {
+		MutableDecimal a = new MutableDecimal(2, RoundingMode.HALF_UP).set(new BigDecimal("12345678901234.56"));
+		MutableDecimal r = new MutableDecimal(2, RoundingMode.HALF_UP);
+
+		r.multiply(a, a);
+		Assert.assertEquals(new BigDecimal("152415787532388172687092138.39"), r.toBigDecimal());
+
+		r.divide(r, a);
+		Assert.assertEquals(new BigDecimal("12345678901234.56"), r.toBigDecimal());
+
+		r.set(Long.MAX_VALUE);
+		r.add(r, r);
+		Assert.assertEquals(new BigDecimal(Long.MAX_VALUE).multiply(BigDecimal.valueOf(2)).setScale(2), r.toBigDecimal());
+	}
+
+	/**
+	 * Inputs are rounded to the scale
+	 */
+	@Test
+	public void testSetRounds() {
+		MutableDecimal r = new MutableDecimal(2, RoundingMode.HALF_EVEN);
+
+		Assert.assertEquals(new BigDecimal("0.12"), r.set(new BigDecimal("0.125")).toBigDecimal());
+		Assert.assertEquals(new BigDecimal("-3.00"), r.set(-3L).toBigDecimal());
+	}
+
+	/**
+	 * Division by zero protection test
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testDivideByZero() {
+		MutableDecimal r = new MutableDecimal(2, RoundingMode.HALF_EVEN);
+
+		r.divide(r.set(1L), new MutableDecimal(2, RoundingMode.HALF_EVEN));
+	}
+}
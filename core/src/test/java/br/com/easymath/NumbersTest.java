@@ -0,0 +1,66 @@
+package br.com.easymath;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NumbersTest {
+
+	/**
+	 * The conversions without string agree with the conversion through the
+	 * string, including the scale
+	 */
+	@Test
+	public void testToBigDecimalAgainstString() {
+		Number[] numbers = { 0, -1, 7, 1024, 1025, Integer.MIN_VALUE, Long.MAX_VALUE, (short) 3, (byte) -4,
+				0d, -0d, 2d, -3d, 9999999d, 1e7d, 0.1d, -2.5d, 1.5e300d, Double.MIN_VALUE, 0.1f, 2f,
+				new BigInteger("123456789012345678901234567890") };
+
+		for (Number number : numbers) {
+			Assert.assertEquals(number.toString(), new BigDecimal(number.toString()), Numbers.toBigDecimal(number, 0));
+		}
+	}
+
+	/**
+	 * Other number types are converted by value
+	 */
+	@Test
+	public void testToBigDecimalOtherTypes() {
+		Assert.assertEquals(new BigDecimal(42), Numbers.toBigDecimal(new AtomicLong(42), 0));
+		Assert.assertSame(Numbers.toBigDecimal(5L), Numbers.toBigDecimal(5, 0));
+	}
+
+	/**
+	 * The exact conversion keeps all the digits of the binary number
+	 */
+	@Test
+	public void testToBigDecimalExact() {
+		Assert.assertEquals(new BigDecimal(0.1d), Numbers.toBigDecimal(0.1d, 0, DoubleConversion.EXACT));
+		Assert.assertEquals(new BigDecimal(0.1f), Numbers.toBigDecimal(0.1f, 0, DoubleConversion.EXACT));
+		Assert.assertEquals(new BigDecimal(3), Numbers.toBigDecimal(3d, 0, DoubleConversion.EXACT));
+		Assert.assertEquals(new BigDecimal("0.1"), Numbers.toBigDecimal(0.1d, 0, DoubleConversion.SHORTEST));
+	}
+
+	/**
+	 * Integral doubles at the edge of the long range, where the cast saturates
+	 */
+	@Test
+	public void testToBigDecimalExactLongEdge() {
+		Assert.assertEquals(new BigDecimal("9223372036854775808"), Numbers.toBigDecimal(0x1p63d, DoubleConversion.EXACT));
+		Assert.assertEquals(new BigDecimal("-9223372036854775808"), Numbers.toBigDecimal(-0x1p63d, DoubleConversion.EXACT));
+		Assert.assertEquals(new BigDecimal("-18446744073709551616"), Numbers.toBigDecimal(-0x1p64d, DoubleConversion.EXACT));
+		Assert.assertEquals(new BigDecimal("9223372036854774784"),
+				Numbers.toBigDecimal(Math.nextDown(0x1p63d), DoubleConversion.EXACT));
+	}
+
+	/**
+	 * Null protection test
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testToBigDecimalNull() {
+		Numbers.toBigDecimal(null, 0);
+	}
+}
@@ -0,0 +1,41 @@
+package br.com.easymath;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelBatchTest {
+
+	/**
+	 * Every row evaluated exactly once
+	 */
+	@Test
+	public void testInvokeCoversRange() {
+		final int[] counts = new int[1000];
+		final AtomicInteger chunks = new AtomicInteger();
+
+		ParallelBatch.invoke(ForkJoinPool.commonPool(), 64, 10, 980, (offset, length) -> {
+			Assert.assertTrue(length >= 64);
+			chunks.incrementAndGet();
+			for (int row = offset; row < offset + length; row++) {
+				counts[row]++;
+			}
+		});
+
+		for (int row = 0; row < counts.length; row++) {
+			Assert.assertEquals(row < 10 || row >= 990 ? 0 : 1, counts[row]);
+		}
+		Assert.assertTrue(chunks.get() > 1);
+	}
+
+	/**
+	 * Chunk size protection test
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvokeInvalidChunk() {
+		ParallelBatch.invoke(ForkJoinPool.commonPool(), 0, 0, 10, (offset, length) -> {
+		});
+	}
+}
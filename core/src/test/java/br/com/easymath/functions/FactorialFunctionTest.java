@@ -172,4 +172,37 @@ public class FactorialFunctionTest {
 		
 		Assert.assertTrue(expected.compareTo(actual) == 0);
 	}
+
+	/**
+	 * Factorial method test for the binary splitting above the table
+	 */
+	@Test
+	public void testFactorialLargeMatchesProduct() {
+		FactorialFunction factorial = new FactorialFunction();
+		BigInteger expected = BigInteger.ONE;
+
+		for (int n = 1; n <= 3000; n++) {
+			expected = expected.multiply(BigInteger.valueOf(n));
+			if (n % 97 == 0 || n == 21 || n == 3000) {
+				Assert.assertEquals(expected, factorial.perform(MathContext.DECIMAL32, n));
+				Assert.assertEquals(expected.negate(), factorial.perform(MathContext.DECIMAL32, -n));
+			}
+		}
+		Assert.assertEquals(expected, factorial.perform(MathContext.DECIMAL32, 3000));
+	}
+
+	/**
+	 * Factorial method test for the primitive path
+	 */
+	@Test
+	public void testFactorialAsDouble() {
+		FactorialFunction factorial = new FactorialFunction();
+
+		for (int n = -171; n <= 171; n++) {
+			double expected = factorial.perform(MathContext.DECIMAL32, n).doubleValue();
+			Assert.assertEquals(expected, factorial.performAsDouble(n), 0d);
+		}
+		Assert.assertEquals(120d, factorial.performAsDouble(5.9d), 0d);
+		Assert.assertEquals(Double.POSITIVE_INFINITY, factorial.performAsDouble(1000d), 0d);
+	}
 }
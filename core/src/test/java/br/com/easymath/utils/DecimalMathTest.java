@@ -0,0 +1,117 @@
+package br.com.easymath.utils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DecimalMathTest {
+
+	private static final MathContext MC = new MathContext(50, RoundingMode.HALF_EVEN);
+
+	private static final String PI = "3.1415926535897932384626433832795028841971693993751";
+
+	private static final String SQRT_2 = "1.4142135623730950488016887242096980785696718753769";
+
+	private static final String E = "2.7182818284590452353602874713526624977572470937000";
+
+	/**
+	 * Pi with all the digits of the context
+	 */
+	@Test
+	public void testPi() {
+		Assert.assertEquals(new BigDecimal(PI), DecimalMath.pi(MC));
+		Assert.assertEquals(new BigDecimal("3.14159"), DecimalMath.pi(new MathContext(6)));
+	}
+
+	/**
+	 * Square root with all the digits of the context
+	 */
+	@Test
+	public void testSqrt() {
+		Assert.assertEquals(new BigDecimal(SQRT_2), DecimalMath.sqrt(new BigDecimal(2), MC));
+		Assert.assertEquals(0, new BigDecimal(12).compareTo(DecimalMath.sqrt(new BigDecimal(144), MC)));
+		Assert.assertEquals(0, BigDecimal.ZERO.compareTo(DecimalMath.sqrt(BigDecimal.ZERO, MC)));
+	}
+
+	/**
+	 * Square root of negative numbers is not a real number
+	 */
+	@Test(expected = ArithmeticException.class)
+	public void testSqrtNegative() {
+		DecimalMath.sqrt(new BigDecimal(-1), MC);
+	}
+
+	/**
+	 * Exponential and logarithm with all the digits of the context
+	 */
+	@Test
+	public void testExpAndLn() {
+		Assert.assertEquals(new BigDecimal(E), DecimalMath.exp(BigDecimal.ONE, MC));
+		Assert.assertEquals(0, BigDecimal.ONE.compareTo(DecimalMath.ln(new BigDecimal(E), MC).round(new MathContext(45))));
+		Assert.assertEquals(0, BigDecimal.ZERO.compareTo(DecimalMath.ln(BigDecimal.ONE, MC)));
+	}
+
+	/**
+	 * Integer and fractional powers
+	 */
+	@Test
+	public void testPow() {
+		Assert.assertEquals(0, new BigDecimal(1024).compareTo(DecimalMath.pow(new BigDecimal(2), new BigDecimal(10), MC)));
+		Assert.assertEquals(0, new BigDecimal("0.125").compareTo(DecimalMath.pow(new BigDecimal(2), new BigDecimal(-3), MC)));
+		Assert.assertEquals(new BigDecimal(SQRT_2), DecimalMath.pow(new BigDecimal(2), new BigDecimal("0.5"), MC));
+	}
+
+	/**
+	 * Trigonometric functions agree with the double implementation
+	 */
+	@Test
+	public void testTrigonometryAgainstDouble() {
+		for (double x = -10; x <= 10; x += 0.37) {
+			BigDecimal value = BigDecimal.valueOf(x);
+
+			Assert.assertEquals(Math.sin(x), DecimalMath.sin(value, MC).doubleValue(), 1e-15);
+			Assert.assertEquals(Math.cos(x), DecimalMath.cos(value, MC).doubleValue(), 1e-15);
+			Assert.assertEquals(Math.atan(x), DecimalMath.atan(value, MC).doubleValue(), 1e-15);
+		}
+
+		for (double x = -1; x <= 1; x += 0.125) {
+			BigDecimal value = BigDecimal.valueOf(x);
+
+			Assert.assertEquals(Math.asin(x), DecimalMath.asin(value, MC).doubleValue(), 1e-15);
+			Assert.assertEquals(Math.acos(x), DecimalMath.acos(value, MC).doubleValue(), 1e-15);
+		}
+	}
+
+	/**
+	 * Known values of the trigonometric functions with all the digits
+	 */
+	@Test
+	public void testTrigonometryKnownValues() {
+		BigDecimal quarter = DecimalMath.pi(MC).divide(new BigDecimal(4), MC);
+		BigDecimal half = new BigDecimal(SQRT_2).divide(new BigDecimal(2), MC);
+
+		assertClose(half, DecimalMath.sin(quarter, MC));
+		assertClose(half, DecimalMath.cos(quarter, MC));
+		assertClose(BigDecimal.ONE, DecimalMath.tan(quarter, MC));
+		assertClose(quarter, DecimalMath.atan(BigDecimal.ONE, MC));
+		assertClose(quarter, DecimalMath.asin(half, MC));
+	}
+
+	/**
+	 * Conversion between degrees and radians
+	 */
+	@Test
+	public void testDegreesAndRadians() {
+		Assert.assertEquals(DecimalMath.pi(MC), DecimalMath.toRadians(new BigDecimal(180), MC));
+		Assert.assertEquals(0, new BigDecimal(180).compareTo(DecimalMath.toDegrees(DecimalMath.pi(MC), MC)));
+	}
+
+	private void assertClose(BigDecimal expected, BigDecimal actual) {
+		BigDecimal error = expected.subtract(actual).abs();
+
+		Assert.assertTrue(expected + " != " + actual, error.compareTo(new BigDecimal("1e-48")) < 0);
+	}
+}
@@ -0,0 +1,59 @@
+package br.com.easymath.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DoubleMathTest {
+
+	/**
+	 * Gamma of integers is the factorial of the previous integer, exact in a
+	 * double up to 22!
+	 */
+	@Test
+	public void testGammaIntegers() {
+		double factorial = 1d;
+
+		for (int n = 1; n <= 23; n++) {
+			Assert.assertEquals(factorial, DoubleMath.gamma(n), 0d);
+			factorial *= n;
+		}
+		Assert.assertEquals(Double.POSITIVE_INFINITY, DoubleMath.gamma(172), 0d);
+	}
+
+	/**
+	 * Gamma of fractional inputs, including the reflection below one half
+	 */
+	@Test
+	public void testGammaFractions() {
+		double sqrtPi = Math.sqrt(Math.PI);
+
+		Assert.assertEquals(sqrtPi, DoubleMath.gamma(0.5d), 1e-14);
+		Assert.assertEquals(sqrtPi / 2d, DoubleMath.gamma(1.5d), 1e-14);
+		Assert.assertEquals(-2d * sqrtPi, DoubleMath.gamma(-0.5d), 1e-13);
+		Assert.assertEquals(4d * sqrtPi / 3d, DoubleMath.gamma(-1.5d), 1e-13);
+		Assert.assertEquals(9.513507698668732d, DoubleMath.gamma(0.1d), 1e-12);
+	}
+
+	/**
+	 * Gamma has poles on zero and negative integers
+	 */
+	@Test
+	public void testGammaPoles() {
+		Assert.assertTrue(Double.isNaN(DoubleMath.gamma(0d)));
+		Assert.assertTrue(Double.isNaN(DoubleMath.gamma(-3d)));
+		Assert.assertEquals(Double.POSITIVE_INFINITY, DoubleMath.logGamma(-3d), 0d);
+	}
+
+	/**
+	 * Logarithm of gamma agrees with gamma and keeps finite beyond its range
+	 */
+	@Test
+	public void testLogGamma() {
+		for (double x = -4.75d; x < 150d; x += 0.5d) {
+			Assert.assertEquals(Math.log(Math.abs(DoubleMath.gamma(x))), DoubleMath.logGamma(x), 1e-10);
+		}
+		Assert.assertEquals(0d, DoubleMath.logGamma(1d), 0d);
+		Assert.assertEquals(0d, DoubleMath.logGamma(2d), 0d);
+		Assert.assertEquals(5912.128178488163d, DoubleMath.logGamma(1001d), 1e-9);
+	}
+}
@@ -27,6 +27,14 @@ public abstract class Algebra {
 	@Formula("(a - b) * (a + b)")
 	public abstract BigDecimal squaresDifferenceExpansion(Number... args);
 
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula(value = "(a - b) * (a + b)", scale = 2)
+	public abstract BigDecimal squaresDifferenceFixed(Number... args);
+
 	/**
 	 * Test
 	 * @param args inputs
@@ -58,4 +66,44 @@ public abstract class Algebra {
 	 */
 	@Formula("(a + b) * ((a ^ 2) - (a * b) + (b ^ 2))")
 	public abstract BigDecimal cubesSumExpansion(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("sqrt(a ^ 2 + b ^ 2)")
+	public abstract double hypotenuse(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("(a ^ 2 + b ^ 2) ^ 0.5")
+	public abstract double hypotenusePower(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("a ^ 0.5")
+	public abstract double root(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("n! / (k! * (n - k)!)")
+	public abstract double binomial(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("lfact(n) - lfact(k) - lfact(n - k)")
+	public abstract double logBinomial(Number... args);
 }
@@ -0,0 +1,37 @@
+package br.com.easymath.test;
+
+import java.math.BigDecimal;
+
+import br.com.easymath.annotations.Formula;
+
+/**
+ * Test class, only operators
+ * @author eduardo.valentim
+ */
+public abstract class Arithmetic {
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("a * b + c")
+	public abstract double multiplyAdd(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("(a - b) / c")
+	public abstract BigDecimal subtractDivide(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula(value = "a * b - c % 2", scale = 2)
+	public abstract BigDecimal multiplySubtractFixed(Number... args);
+
+}
@@ -1,6 +1,7 @@
 package br.com.easymath.test;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 import br.com.easymath.annotations.Formula;
 
@@ -42,4 +43,70 @@ public abstract class Basic {
 	@Formula("a * b")
 	public abstract BigDecimal mutiply(Number... args);
 
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("(2 * 3 + 4) * a * 1 - 0")
+	public abstract double scale(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("1 / 3 * a")
+	public abstract BigDecimal third(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("(a - 0) + 0")
+	public abstract double signedZero(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("fat(5) / sqrt(4)")
+	public abstract double factorialRatio(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula(value = "1 / 3 * a", scale = 4)
+	public abstract BigDecimal thirdFixed(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula(value = "(price * quantity - discount) * (1 + tax)", scale = 2, roundingMode = RoundingMode.HALF_EVEN)
+	public abstract BigDecimal total(Number... args);
+
+	/**
+	 * Test
+	 * @param b the subtrahend
+	 * @param a the minuend
+	 * @return the result
+	 */
+	@Formula("a - b")
+	public abstract double difference(double b, double a);
+
+	/**
+	 * Test
+	 * @param a first factor
+	 * @param b second factor
+	 * @return the result
+	 */
+	@Formula("a * b")
+	public abstract BigDecimal product(BigDecimal a, BigDecimal b);
+
 }
@@ -0,0 +1,19 @@
+package br.com.easymath.test;
+
+import br.com.easymath.annotations.Formula;
+
+/**
+ * Test class, functions known only by the catalog of the execution
+ * @author eduardo.valentim
+ */
+public abstract class Custom {
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("tick(a) + tick(a)")
+	public abstract double ticks(Number... args);
+
+}
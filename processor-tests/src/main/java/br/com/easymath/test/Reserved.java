@@ -0,0 +1,85 @@
+package br.com.easymath.test;
+
+import java.math.BigDecimal;
+
+import br.com.easymath.annotations.Formula;
+
+/**
+ * Test class, inputs named as the parameters and locals of the generated code
+ * @author eduardo.valentim
+ */
+public abstract class Reserved {
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("sqrt(mc) * a")
+	public abstract double context(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("sqrt(mc) + a ^ 2")
+	public abstract double contextSum(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("mc / 4")
+	public abstract BigDecimal contextDecimal(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("slots - indices")
+	public abstract double buffer(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("slots * indices")
+	public abstract BigDecimal bufferDecimal(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("length * offset + results - row * end")
+	public abstract double batch(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("lengthColumn + length * offset")
+	public abstract BigDecimal batchDecimal(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("pool * chunk + from - rows")
+	public abstract double parallel(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula(value = "workspace * a + aFixed", scale = 2)
+	public abstract BigDecimal fixed(Number... args);
+
+}
@@ -26,4 +26,20 @@ public abstract class Trigonometry {
 	 */
 	@Formula("sin(alpha) * cos(beta) + sin(beta) * cos(alpha)")
 	public abstract double sinABExpansion(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula("sin(alpha) * cos(beta) + cos(beta) * sin(alpha)")
+	public abstract double sinRepeatedTerms(Number... args);
+
+	/**
+	 * Test
+	 * @param args inputs
+	 * @return the result
+	 */
+	@Formula(value = "sin(alpha) ^ 2 + sqrt(beta)", precision = 40)
+	public abstract BigDecimal sinSquarePlusRoot(Number... args);
 }
@@ -1,6 +1,8 @@
 package br.com.easymath.test;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -37,4 +39,120 @@ public class AlgebraMathTest {
 		Assert.assertEquals(expected, actual.doubleValue(), 0.001);
 	}
 
+	@Test
+	public void testHypotenuseDoubleDouble() {
+		AlgebraMath algebra = new AlgebraMath();
+
+		Assert.assertEquals(Math.hypot(3d, 4d), algebra.hypotenuse(3d, 4d), 0d);
+		Assert.assertEquals(Math.hypot(3d, 4d), algebra.hypotenusePower(3d, 4d), 0d);
+	}
+
+	@Test
+	public void testRootAgreesWithPower() {
+		AlgebraMath algebra = new AlgebraMath();
+
+		Assert.assertEquals(Double.valueOf(Math.pow(-0d, 0.5d)), Double.valueOf(algebra.root(-0d)));
+		Assert.assertEquals(Double.POSITIVE_INFINITY, algebra.root(Double.NEGATIVE_INFINITY), 0d);
+		Assert.assertEquals(3d, algebra.root(9d), 0d);
+	}
+
+	@Test
+	public void testSquaresDifferenceColumns() {
+		AlgebraMath algebra = new AlgebraMath();
+		double[] a = { 7.3d, 2d, -1.5d };
+		double[] b = { 3.7d, 5d, 0.25d };
+
+		double[] actual = algebra.squaresDifference(a, b);
+
+		Assert.assertEquals(a.length, actual.length);
+		for (int i = 0; i < a.length; i++) {
+			Assert.assertEquals(algebra.squaresDifference(a[i], b[i]), actual[i], 0d);
+		}
+	}
+
+	@Test
+	public void testCubesDifferenceExpansionColumnsRange() {
+		AlgebraMath algebra = new AlgebraMath();
+		BigDecimal[] a = { BigDecimal.ONE, new BigDecimal("7.3"), new BigDecimal("2") };
+		BigDecimal[] b = { BigDecimal.ONE, new BigDecimal("3.7"), new BigDecimal("5") };
+		BigDecimal[] actual = new BigDecimal[3];
+
+		algebra.cubesDifferenceExpansion(a, b, actual, 1, 2);
+
+		Assert.assertNull(actual[0]);
+		Assert.assertEquals(algebra.cubesDifferenceExpansion(a[1], b[1]), actual[1]);
+		Assert.assertEquals(algebra.cubesDifferenceExpansion(a[2], b[2]), actual[2]);
+	}
+
+	@Test
+	public void testSquaresDifferenceFixed() {
+		AlgebraMath algebra = new AlgebraMath();
+
+		BigDecimal actual = algebra.squaresDifferenceFixed(new BigDecimal("7.3"), new BigDecimal("3.7"));
+
+		Assert.assertEquals(new BigDecimal("39.60"), actual);
+	}
+
+	@Test
+	public void testBinomialLogarithm() {
+		AlgebraMath algebra = new AlgebraMath();
+
+		Assert.assertEquals(2598960d, algebra.binomial(52, 5), 0d);
+		Assert.assertEquals(Math.log(2598960d), algebra.logBinomial(52, 5), 1e-12);
+		Assert.assertTrue(Double.isNaN(algebra.binomial(1000, 500)));
+		Assert.assertEquals(689.4672, algebra.logBinomial(1000, 500), 0.0001);
+	}
+
+	@Test
+	public void testSlotBuffer() {
+		AlgebraMath algebra = new AlgebraMath();
+		List<String> layout = Arrays.asList("k", "b", "n", "a");
+		int[] hypotenuse = AlgebraMath.hypotenuseInputs.bind(layout);
+		int[] binomial = AlgebraMath.binomialInputs.bind(layout);
+		int[] fixed = AlgebraMath.squaresDifferenceFixedInputs.bind(layout);
+
+		double[] row = { 5d, 4d, 52d, 3d };
+		Assert.assertEquals(5d, algebra.hypotenuse(row, hypotenuse), 0d);
+		Assert.assertEquals(2598960d, algebra.binomial(row, binomial), 0d);
+
+		BigDecimal[] decimals = { null, new BigDecimal("3.7"), null, new BigDecimal("7.3") };
+		Assert.assertEquals(new BigDecimal("39.60"), algebra.squaresDifferenceFixed(decimals, fixed));
+		Assert.assertEquals(Arrays.asList("n", "k"), AlgebraMath.binomialInputs.getNames());
+	}
+
+	@Test
+	public void testEvaluateAll() {
+		AlgebraMath algebra = new AlgebraMath();
+		List<String> layout = Arrays.asList("k", "b", "n", "a");
+		int[] indices = AlgebraMath.evaluateAllInputs.bind(layout);
+
+		double[] row = { 5d, 4d, 52d, 3d };
+		double[] results = new double[AlgebraMath.evaluateAllResults.size()];
+		algebra.evaluateAll(row, indices, results);
+
+		Assert.assertEquals(8, results.length);
+		Assert.assertEquals(algebra.squaresDifference(3d, 4d), results[AlgebraMath.evaluateAllResults.indexOf("squaresDifference")], 0d);
+		Assert.assertEquals(algebra.cubesDifference(3d, 4d), results[AlgebraMath.evaluateAllResults.indexOf("cubesDifference")], 0d);
+		Assert.assertEquals(algebra.cubesSum(3d, 4d), results[AlgebraMath.evaluateAllResults.indexOf("cubesSum")], 0d);
+		Assert.assertEquals(5d, results[AlgebraMath.evaluateAllResults.indexOf("hypotenuse")], 0d);
+		Assert.assertEquals(5d, results[AlgebraMath.evaluateAllResults.indexOf("hypotenusePower")], 0d);
+		Assert.assertEquals(algebra.root(3d), results[AlgebraMath.evaluateAllResults.indexOf("root")], 0d);
+		Assert.assertEquals(2598960d, results[AlgebraMath.evaluateAllResults.indexOf("binomial")], 0d);
+		Assert.assertEquals(algebra.logBinomial(52d, 5d), results[AlgebraMath.evaluateAllResults.indexOf("logBinomial")], 0d);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEvaluateAllResultsLengthMismatch() {
+		AlgebraMath algebra = new AlgebraMath();
+
+		algebra.evaluateAll(new double[4], new int[] { 0, 1, 2, 3 }, new double[1]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSquaresDifferenceColumnsLengthMismatch() {
+		AlgebraMath algebra = new AlgebraMath();
+
+		algebra.squaresDifference(new double[2], new double[1]);
+	}
+
 }
@@ -0,0 +1,49 @@
+package br.com.easymath.test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArithmeticMathTest {
+
+	@Test
+	public void testInstanceIsStateless() {
+		Assert.assertNotNull(ArithmeticMath.INSTANCE);
+
+		for (Field field : ArithmeticMath.class.getDeclaredFields()) {
+			Assert.assertTrue(field.getName(), Modifier.isStatic(field.getModifiers()));
+		}
+	}
+
+	@Test
+	public void testMultiplyAdd() {
+		ArithmeticMath arithmetic = ArithmeticMath.INSTANCE;
+
+		Assert.assertEquals(7d, arithmetic.multiplyAdd(2d, 3d, 1d), 0d);
+		Assert.assertEquals(7d, arithmetic.multiplyAdd(2, 3, 1), 0d);
+	}
+
+	@Test
+	public void testSubtractDivide() {
+		ArithmeticMath arithmetic = new ArithmeticMath();
+
+		Assert.assertEquals(0, new BigDecimal("2.5").compareTo(
+				arithmetic.subtractDivide(new BigDecimal("7"), new BigDecimal("2"), new BigDecimal("2"))));
+	}
+
+	@Test
+	public void testMultiplySubtractFixed() {
+		ArithmeticMath arithmetic = ArithmeticMath.INSTANCE;
+
+		Assert.assertEquals(new BigDecimal("5.75"),
+				arithmetic.multiplySubtractFixed(new BigDecimal("1.5"), new BigDecimal("4.5"), new BigDecimal("3")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullCatalogs() {
+		new ArithmeticMath((br.com.easymath.FunctionCatalog[]) null);
+	}
+}
@@ -1,8 +1,11 @@
 package br.com.easymath.test;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 public class BasicMathTest {
@@ -79,4 +82,153 @@ public class BasicMathTest {
 		Assert.assertTrue(new BigDecimal("12.5").compareTo(actual) == 0);
 	}
 
+	@Test
+	public void testDivideParallelColumns() {
+		BasicMath basic = new BasicMath();
+		BigDecimal[] a = new BigDecimal[10000];
+		BigDecimal[] b = new BigDecimal[a.length];
+		for (int i = 0; i < a.length; i++) {
+			a[i] = BigDecimal.valueOf(i);
+			b[i] = BigDecimal.valueOf(i % 7 + 1);
+		}
+		BigDecimal[] actual = new BigDecimal[a.length];
+		
+		basic.divide(a, b, actual, 0, a.length, ForkJoinPool.commonPool(), 100);
+		
+		for (int i = 0; i < a.length; i++) {
+			Assert.assertEquals(basic.divide(a[i], b[i]), actual[i]);
+		}
+	}
+
+	@Test
+	public void testScaleFoldsConstants() {
+		BasicMath basic = new BasicMath();
+		
+		double actual = basic.scale(1.5d);
+		
+		Assert.assertTrue(Double.valueOf(15).compareTo(actual) == 0);
+	}
+
+	@Test
+	public void testSignedZeroKeepsAdditiveIdentity() {
+		BasicMath basic = new BasicMath();
+		
+		Assert.assertEquals(Double.valueOf(0d), Double.valueOf(basic.signedZero(-0d)));
+		Assert.assertEquals(Double.valueOf(2.5d), Double.valueOf(basic.signedZero(2.5d)));
+	}
+
+	@Test
+	public void testThirdKeepsFormulaRounding() {
+		BasicMath basic = new BasicMath();
+		
+		BigDecimal actual = basic.third(new BigDecimal("3"));
+		
+		Assert.assertTrue(new BigDecimal("0.9999999").compareTo(actual) == 0);
+	}
+
+	@Test
+	public void testFactorialRatioDoesNotAllocate() {
+		com.sun.management.ThreadMXBean threads = allocationBean();
+		BasicMath basic = new BasicMath();
+		long thread = Thread.currentThread().getId();
+		double sum = 0;
+
+		for (int i = 0; i < 10000; i++) {
+			sum += basic.factorialRatio();
+		}
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < 100000; i++) {
+			sum += basic.factorialRatio();
+		}
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		Assert.assertEquals(110000 * 60d, sum, 0d);
+		Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 100000);
+	}
+
+	@Test
+	public void testAddDoesNotAllocateWithTraceDisabled() {
+		com.sun.management.ThreadMXBean threads = allocationBean();
+		BasicMath basic = new BasicMath();
+		long thread = Thread.currentThread().getId();
+		double sum = 0;
+
+		for (int i = 0; i < 10000; i++) {
+			sum += basic.add(0.5d, i);
+		}
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < 100000; i++) {
+			sum += basic.add(0.5d, i);
+		}
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		Assert.assertTrue(sum > 0);
+		Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 100000);
+	}
+
+	@Test
+	public void testDifferenceTypedParameters() {
+		BasicMath basic = new BasicMath();
+
+		Assert.assertEquals(2d, basic.difference(1d, 3d), 0d);
+		Assert.assertEquals(2d, basic.difference(1, 3), 0d);
+		Assert.assertEquals(2d, basic.difference(new Number[] { 1, 3d }), 0d);
+	}
+
+	@Test
+	public void testProductTypedParameters() {
+		BasicMath basic = new BasicMath();
+
+		Assert.assertEquals(0, new BigDecimal("7.5").compareTo(basic.product(new BigDecimal("2.5"), new BigDecimal("3"))));
+		Assert.assertEquals(new BigDecimal("12"), basic.product(3L, 4L));
+	}
+
+	@Test
+	public void testMutiplyLongLong() {
+		BasicMath basic = new BasicMath();
+
+		Assert.assertEquals(basic.mutiply(new BigDecimal(6), new BigDecimal(7)), basic.mutiply(6, 7));
+	}
+
+	private static com.sun.management.ThreadMXBean allocationBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+		return threads;
+	}
+
+	@Test
+	public void testThirdFixedRoundsToScale() {
+		BasicMath basic = new BasicMath();
+		
+		BigDecimal actual = basic.thirdFixed(new BigDecimal("3"));
+		
+		Assert.assertEquals(new BigDecimal("0.9999"), actual);
+	}
+
+	@Test
+	public void testTotalFixedScale() {
+		BasicMath basic = new BasicMath();
+		
+		BigDecimal actual = basic.total(new BigDecimal("19.99"), 3, new BigDecimal("5.5"), new BigDecimal("0.0825"));
+		
+		Assert.assertEquals(new BigDecimal("58.83"), actual);
+	}
+
+	@Test
+	public void testTotalFixedScaleColumns() {
+		BasicMath basic = new BasicMath();
+		BigDecimal[] price = { new BigDecimal("19.99"), new BigDecimal("123456789012.34"), BigDecimal.ZERO };
+		BigDecimal[] quantity = { new BigDecimal("3"), new BigDecimal("1000000"), BigDecimal.ONE };
+		BigDecimal[] discount = { new BigDecimal("5.5"), BigDecimal.ONE, new BigDecimal("0.015") };
+		BigDecimal[] tax = { new BigDecimal("0.0825"), new BigDecimal("0.1"), BigDecimal.ZERO };
+
+		BigDecimal[] actual = basic.total(price, quantity, discount, tax);
+
+		Assert.assertEquals(new BigDecimal("58.83"), actual[0]);
+		Assert.assertEquals(new BigDecimal("135802467913573998.90"), actual[1]);
+		Assert.assertEquals(new BigDecimal("-0.02"), actual[2]);
+	}
+
 }
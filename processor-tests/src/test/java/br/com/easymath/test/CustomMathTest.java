@@ -0,0 +1,44 @@
+package br.com.easymath.test;
+
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import br.com.easymath.Function;
+import br.com.easymath.FunctionCatalog;
+
+public class CustomMathTest {
+
+	@Test
+	public void testUnknownFunctionIsNotReused() {
+		final AtomicInteger count = new AtomicInteger();
+		Function<Number> tick = new Function<Number>() {
+			@Override
+			public String name() {
+				return "tick";
+			}
+
+			@Override
+			public Number perform(MathContext mc, Number... inputs) {
+				return count.incrementAndGet();
+			}
+
+			@Override
+			public boolean isPure() {
+				return false;
+			}
+		};
+		CustomMath custom = new CustomMath(FunctionCatalog.valueOf(tick));
+
+		Assert.assertEquals(1d + 2d, custom.ticks(0d), 0d);
+		Assert.assertEquals(2, count.get());
+
+		double[] results = new double[1];
+		custom.evaluateAll(new double[] { 0d }, CustomMath.evaluateAllInputs.bind(Arrays.asList("a")), results);
+		Assert.assertEquals(3d + 4d, results[0], 0d);
+	}
+
+}
@@ -0,0 +1,114 @@
+package br.com.easymath.test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReservedMathTest {
+
+	@Test
+	public void testContext() {
+		ReservedMath reserved = new ReservedMath();
+
+		Assert.assertEquals(6d, reserved.context(4d, 3d), 0d);
+		Assert.assertEquals(11d, reserved.contextSum(4d, 3d), 0d);
+		Assert.assertEquals(new BigDecimal("0.25"), reserved.contextDecimal(BigDecimal.ONE));
+	}
+
+	@Test
+	public void testBuffer() {
+		ReservedMath reserved = new ReservedMath();
+		int[] indices = ReservedMath.bufferInputs.bind(Arrays.asList("indices", "slots"));
+
+		Assert.assertEquals(Arrays.asList("slots", "indices"), ReservedMath.bufferInputs.getNames());
+		Assert.assertEquals(5d, reserved.buffer(new double[] { 2d, 7d }, indices), 0d);
+		Assert.assertEquals(new BigDecimal("14"),
+				reserved.bufferDecimal(new BigDecimal[] { new BigDecimal("2"), new BigDecimal("7") }, indices));
+	}
+
+	@Test
+	public void testBatch() {
+		ReservedMath reserved = new ReservedMath();
+		double[] length = { 2d, 3d };
+		double[] offset = { 5d, 7d };
+		double[] results = { 1d, -1d };
+		double[] row = { 4d, 2d };
+		double[] end = { 0.5d, 3d };
+
+		double[] actual = reserved.batch(length, offset, results, row, end);
+
+		Assert.assertEquals(reserved.batch(2d, 5d, 1d, 4d, 0.5d), actual[0], 0d);
+		Assert.assertEquals(reserved.batch(3d, 7d, -1d, 2d, 3d), actual[1], 0d);
+	}
+
+	@Test
+	public void testBatchDecimal() {
+		ReservedMath reserved = new ReservedMath();
+		BigDecimal[] lengthColumn = { new BigDecimal("1.5") };
+		BigDecimal[] length = { new BigDecimal("2") };
+		BigDecimal[] offset = { new BigDecimal("3") };
+
+		BigDecimal[] actual = reserved.batchDecimal(lengthColumn, length, offset);
+
+		Assert.assertEquals(0, new BigDecimal("7.5").compareTo(actual[0]));
+	}
+
+	@Test
+	public void testParallel() {
+		ReservedMath reserved = new ReservedMath();
+		int size = 1000;
+		double[] pool = new double[size];
+		double[] chunk = new double[size];
+		double[] from = new double[size];
+		double[] rows = new double[size];
+		for (int i = 0; i < size; i++) {
+			pool[i] = i;
+			chunk[i] = 2d;
+			from[i] = 1d;
+			rows[i] = i % 7;
+		}
+		double[] results = new double[size];
+
+		reserved.parallel(pool, chunk, from, rows, results, 0, size, ForkJoinPool.commonPool(), 64);
+
+		Assert.assertArrayEquals(reserved.parallel(pool, chunk, from, rows), results, 0d);
+	}
+
+	@Test
+	public void testFixed() {
+		ReservedMath reserved = new ReservedMath();
+		BigDecimal[] workspace = { new BigDecimal("1.5"), new BigDecimal("2") };
+		BigDecimal[] a = { new BigDecimal("3"), new BigDecimal("0.25") };
+		BigDecimal[] aFixed = { new BigDecimal("0.1"), new BigDecimal("1") };
+
+		Assert.assertEquals(new BigDecimal("4.60"), reserved.fixed(workspace[0], a[0], aFixed[0]));
+		Assert.assertArrayEquals(new BigDecimal[] { new BigDecimal("4.60"), new BigDecimal("1.50") },
+				reserved.fixed(workspace, a, aFixed));
+	}
+
+	@Test
+	public void testEvaluateAll() {
+		ReservedMath reserved = new ReservedMath();
+		List<String> layout = ReservedMath.evaluateAllInputs.getNames();
+		double[] slots = new double[layout.size()];
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = i + 2d;
+		}
+		slots[layout.indexOf("a")] = 3d;
+		slots[layout.indexOf("mc")] = 4d;
+		double[] results = new double[ReservedMath.evaluateAllResults.size()];
+
+		reserved.evaluateAll(slots, ReservedMath.evaluateAllInputs.bind(layout), results);
+
+		Assert.assertEquals(6d, results[ReservedMath.evaluateAllResults.indexOf("context")], 0d);
+		Assert.assertEquals(11d, results[ReservedMath.evaluateAllResults.indexOf("contextSum")], 0d);
+		Assert.assertEquals(slots[layout.indexOf("slots")] - slots[layout.indexOf("indices")],
+				results[ReservedMath.evaluateAllResults.indexOf("buffer")], 0d);
+		Assert.assertEquals(reserved.batch(slots, ReservedMath.batchInputs.bind(layout)),
+				results[ReservedMath.evaluateAllResults.indexOf("batch")], 0d);
+	}
+}
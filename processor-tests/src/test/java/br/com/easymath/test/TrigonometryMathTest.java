@@ -1,12 +1,14 @@
 package br.com.easymath.test;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 
 import br.com.easymath.functions.CosFunction;
 import br.com.easymath.functions.SinFunction;
 import org.junit.Assert;
 import org.junit.Test;
 
+import br.com.easymath.Function;
 import br.com.easymath.FunctionCatalog;
 
 public class TrigonometryMathTest {
@@ -23,4 +25,42 @@ public class TrigonometryMathTest {
 		Assert.assertEquals(expected, actual.doubleValue(), 0.001);
 	}
 
+	@Test
+	public void testSinRepeatedTermsDoubleDouble() {
+		TrigonometryMath trigonometry = new TrigonometryMath();
+
+		double actual = trigonometry.sinRepeatedTerms(0.3d, 1.1d);
+
+		Assert.assertEquals(2 * Math.sin(0.3d) * Math.cos(1.1d), actual, 0d);
+	}
+
+	@Test
+	public void testDecimalPrecision() {
+		TrigonometryMath trigonometry = new TrigonometryMath();
+
+		BigDecimal actual = trigonometry.sinSquarePlusRoot(1, 2);
+
+		Assert.assertEquals(new BigDecimal("2.122286980646666242300472838960079173453"), actual);
+	}
+
+	@Test
+	public void testCustomCatalogOverridesCoreFunction() {
+		Function<Number> zero = new Function<Number>() {
+			@Override
+			public String name() {
+				return "cos";
+			}
+
+			@Override
+			public Number perform(MathContext mc, Number... inputs) {
+				return 0;
+			}
+		};
+		TrigonometryMath trigonometry = new TrigonometryMath(FunctionCatalog.valueOf(zero));
+
+		double actual = trigonometry.sinABExpansion(45d, 70d);
+
+		Assert.assertEquals(0d, actual, 0d);
+	}
+
 }
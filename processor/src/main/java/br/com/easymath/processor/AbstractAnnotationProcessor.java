@@ -2,20 +2,23 @@ package br.com.easymath.processor;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.JavaFileObject;
 
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
+import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.RuntimeConstants;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.slf4j.Logger;
@@ -32,6 +35,17 @@ public abstract class AbstractAnnotationProcessor extends AbstractProcessor {
 
 	public static final String ENCODING = "UTF-8";
 
+	/**
+	 * The engine shared by the processors, initialized once per class loader
+	 */
+	private static final VelocityEngine ENGINE = new VelocityEngine(getVelocityProperties());
+
+	/**
+	 * The parsed templates, by name. A build calling {@link #init} many
+	 * times, like the incremental ones, parses each template only once
+	 */
+	private static final Map<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
 	protected Filer filer;
 	protected Messager messager;
 	protected Types types;
@@ -65,8 +79,6 @@ public abstract class AbstractAnnotationProcessor extends AbstractProcessor {
 
 		super.init(processingEnv);
 
-		Velocity.init(getVelocityProperties());
-
 		types = processingEnv.getTypeUtils();
 		elements = processingEnv.getElementUtils();
 		filer = processingEnv.getFiler();
@@ -75,10 +87,35 @@ public abstract class AbstractAnnotationProcessor extends AbstractProcessor {
 		LOGGER.trace("Exiting...  ");
 	}
 
-	protected void generate(CharSequence name, Template template, VelocityContext context) {
+	/**
+	 * Get a parsed template, parsing it on the first use
+	 * 
+	 * @param name
+	 *            The name of the template in the classpath
+	 * @return The template
+	 */
+	protected Template getTemplate(String name) {
+		return TEMPLATES.computeIfAbsent(name, key -> ENGINE.getTemplate(key, ENCODING));
+	}
+
+	/**
+	 * Generate a source file merging a template
+	 * 
+	 * @param name
+	 *            The qualified name of the generated type
+	 * @param template
+	 *            The template
+	 * @param context
+	 *            The objects of the template
+	 * @param originatingElements
+	 *            The elements the generated type depends on, telling the
+	 *            incremental builds which sources regenerate it
+	 */
+	protected void generate(CharSequence name, Template template, VelocityContext context,
+			Element... originatingElements) {
 		LOGGER.trace("Entering...");
 		try {
-			JavaFileObject jfo = filer.createSourceFile(name);
+			JavaFileObject jfo = filer.createSourceFile(name, originatingElements);
 			try (Writer writer = jfo.openWriter()) {
 				LOGGER.debug("Merging objects to template...");
 				template.merge(context, writer);
@@ -90,7 +127,7 @@ public abstract class AbstractAnnotationProcessor extends AbstractProcessor {
 		LOGGER.trace("Exiting...");
 	}
 
-	private Properties getVelocityProperties() {
+	private static Properties getVelocityProperties() {
 		LOGGER.trace("Entering...");
 
 		Properties properties = new Properties();
@@ -0,0 +1,50 @@
+package br.com.easymath.processor.mathematical;
+
+import java.util.Locale;
+
+/**
+ * How the generated methods trace their execution, chosen by the processor
+ * option <code>easymath.logging</code>
+ * 
+ * @author eduardo.valentim
+ */
+public enum LoggingMode {
+
+	/**
+	 * No trace calls are generated
+	 */
+	NONE,
+
+	/**
+	 * Trace calls are only executed when the trace level is enabled, so the
+	 * arguments are not boxed otherwise (the default)
+	 */
+	GUARDED,
+
+	/**
+	 * Trace calls are always executed
+	 */
+	FULL;
+
+	/**
+	 * Parse the value of the processor option
+	 * 
+	 * @param option
+	 *            The value of the option, <code>null</code> for the default
+	 * @return The logging mode
+	 */
+	public static LoggingMode fromOption(String option) {
+		LoggingMode result = GUARDED;
+
+		if (option != null) {
+			try {
+				result = valueOf(option.trim().toUpperCase(Locale.ENGLISH));
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException(
+						"Option 'easymath.logging' must be 'none', 'guarded' or 'full'. Actual '" + option + "'", ex);
+			}
+		}
+
+		return result;
+	}
+}
@@ -4,9 +4,12 @@ import static java.lang.System.getProperty;
 import static java.text.MessageFormat.format;
 import static java.util.Objects.requireNonNull;
 
+import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +25,6 @@ import javax.lang.model.element.TypeElement;
 import org.apache.commons.lang.StringUtils;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +33,10 @@ import br.com.easymath.processor.AbstractAnnotationProcessor;
 import br.com.easymath.processor.mathematical.grammar.FunctionModel;
 import br.com.easymath.processor.mathematical.grammar.FunctionModelBuilder;
 import br.com.easymath.processor.mathematical.operation.operand.ConstantOperand;
+import br.com.easymath.processor.mathematical.optimization.CommonSubexpressionElimination;
+import br.com.easymath.processor.mathematical.optimization.ConstantFolding;
+import br.com.easymath.processor.mathematical.optimization.FormulaFusion;
+import br.com.easymath.processor.mathematical.utils.InlineUtils;
 import br.com.easymath.processor.mathematical.utils.ReflectionUtils;
 
 /**
@@ -43,9 +49,16 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 	private static final String LINE_SEPARATOR = getProperty("line.separator");
 	private static final Logger LOGGER = LoggerFactory.getLogger(MathematicalProcessor.class);
 	private static final String SUFFIX = "Math";
+	private static final String TEMPLATE = "META-INF/templates/formulas.vm";
+
+	/**
+	 * The processor option with the {@link LoggingMode} of the generated code
+	 */
+	public static final String LOGGING_OPTION = "easymath.logging";
 
 	private Template template;
 	private ReflectionUtils utils;
+	private LoggingMode logging;
 
 	/**
 	 * {@inheritDoc}
@@ -53,8 +66,17 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 	@Override
 	public synchronized void init(ProcessingEnvironment processingEnv) {
 		super.init(processingEnv);
-		this.template = Velocity.getTemplate("META-INF/templates/formulas.vm", ENCODING);
+		this.template = getTemplate(TEMPLATE);
 		this.utils = new ReflectionUtils(types, elements);
+		this.logging = LoggingMode.fromOption(processingEnv.getOptions().get(LOGGING_OPTION));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<String> getSupportedOptions() {
+		return Collections.singleton(LOGGING_OPTION);
 	}
 
 	/**
@@ -89,21 +111,34 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 		 */
 		requireNonNull(map);
 
-		VelocityContext context = new VelocityContext();
-		context.put("utils", new StringUtils());
-
 		for (Entry<Element, List<ExecutableElement>> entry : map.entrySet()) {
 			Element classElement = entry.getKey();
+			/*
+			 * Each class is generated from its own state only, so the incremental builds
+			 * regenerate it alone when its source changes
+			 */
+			VelocityContext context = new VelocityContext();
+			context.put("utils", new StringUtils());
+			context.put("inlines", new InlineUtils());
+			context.put("logging", logging.name());
 
 			Set<ConstantOperand> constants = new HashSet<>();
+			Set<String> bindings = new LinkedHashSet<>();
 			Deque<FunctionModel> functions = new LinkedList<>();
+			boolean fixedScale = false;
+			boolean batched = false;
 
 			for (ExecutableElement methodElement : entry.getValue()) {
 				FunctionModel model = new FunctionModelBuilder().withClassName(utils.getName(classElement))
 						.withMethodName(utils.getName(methodElement))
 						.withType(utils.getMethodReturningType(methodElement))
-						.withFormula(utils.getMethodFormula(methodElement)).withConstants(constants).build();
+						.withFormula(utils.getMethodFormula(methodElement)).withConstants(constants)
+						.withParameters(utils.isVarArgsMethod(methodElement) ? null : utils.getMethodParameterNames(methodElement))
+						.withOptimizations(new ConstantFolding(), new CommonSubexpressionElimination()).build();
 				functions.add(model);
+				bindings.addAll(model.getFunctionNames());
+				fixedScale |= model.isFixedScale();
+				batched |= !model.getInputs().isEmpty();
 			}
 
 			context.put("generator", getClass().getName());
@@ -111,9 +146,24 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 			context.put("superclass", classElement.getSimpleName());
 			context.put("classname", classElement.getSimpleName() + SUFFIX);
 			context.put("constants", constants);
+			context.put("bindings", bindings);
+			/*
+			 * Classes calling no function are generated without the catalog
+			 */
+			context.put("lean", bindings.isEmpty());
 			context.put("functions", functions);
+			/*
+			 * The imports of the workspaces and of the batch methods are only emitted if used
+			 */
+			context.put("fixedScale", fixedScale);
+			context.put("batched", batched);
+			/*
+			 * The double formulas are also evaluated together, sharing the subexpressions
+			 */
+			FormulaFusion fusion = new FormulaFusion().fuse(functions);
+			context.put("fusion", fusion.getNames().isEmpty() ? Boolean.FALSE : fusion);
 
-			generate(classElement.toString() + SUFFIX, template, context);
+			generate(classElement.toString() + SUFFIX, template, context, classElement);
 		}
 
 		LOGGER.trace("Exiting...");
@@ -130,7 +180,7 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 		/*
 		 * Variable declaration
 		 */
-		Map<Element, List<ExecutableElement>> map = new HashMap<>();
+		Map<Element, List<ExecutableElement>> map = new LinkedHashMap<>();
 		/*
 		 * Discovery process
 		 */
@@ -190,22 +240,6 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 			buffer.append("    * The method must be abstract!");
 			buffer.append(LINE_SEPARATOR);
 		}
-		/*
-		 * Check the varargs in the method
-		 */
-		if (!utils.isVarArgsMethod(methodElement)) {
-			result = false;
-			buffer.append("    * The method must have a VarArgs argument!");
-			buffer.append(LINE_SEPARATOR);
-		}
-		/*
-		 * Check the number of parameters in the method
-		 */
-		if (utils.getMethodParametersCount(methodElement) != 1) {
-			result = false;
-			buffer.append("    * The method must have only one argument!");
-			buffer.append(LINE_SEPARATOR);
-		}
 		/*
 		 * Check the result type
 		 */
@@ -213,6 +247,26 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 			result = false;
 			buffer.append("    * The method must declare a returnning type that extends java.lang.Number!");
 			buffer.append(LINE_SEPARATOR);
+		} else if (utils.isVarArgsMethod(methodElement)) {
+			/*
+			 * Check the number of parameters in the method
+			 */
+			if (utils.getMethodParametersCount(methodElement) != 1) {
+				result = false;
+				buffer.append("    * The method must have only one argument!");
+				buffer.append(LINE_SEPARATOR);
+			}
+		} else {
+			/*
+			 * Check the typed parameters in the method
+			 */
+			String parameterType = getParameterType(utils.getMethodReturningType((ExecutableElement) methodElement));
+			if (!utils.isMethodTakingParameters(methodElement, parameterType)) {
+				result = false;
+				buffer.append(format("    * The method must have a VarArgs argument or only ''{0}'' arguments!",
+						parameterType));
+				buffer.append(LINE_SEPARATOR);
+			}
 		}
 		/*
 		 * If has content
@@ -220,7 +274,7 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 		if (buffer.length() > 0) {
 			buffer.insert(0, LINE_SEPARATOR);
 			buffer.insert(0,
-					format("The method ''{0}'' don't follow the convention: public abstract {? extends Number} {name}(Number...args);",
+					format("The method ''{0}'' don't follow the convention: public abstract {? extends Number} {name}(Number...args); or {name}({type} a, {type} b, ...);",
 							methodElement));
 			LOGGER.warn(buffer.toString());
 		}
@@ -230,6 +284,18 @@ public class MathematicalProcessor extends AbstractAnnotationProcessor {
 		return result;
 	}
 
+	/**
+	 * The type of the typed parameters of a formula
+	 * 
+	 * @param returningType
+	 *            The returning type of the formula
+	 * @return <code>java.math.BigDecimal</code> for decimal formulas,
+	 *         <code>double</code> otherwise
+	 */
+	private String getParameterType(String returningType) {
+		return BigDecimal.class.getName().equals(returningType) ? BigDecimal.class.getName() : double.class.getName();
+	}
+
 	/**
 	 * @param map
 	 * @param methodElement
@@ -1,16 +1,25 @@
 package br.com.easymath.processor.mathematical.grammar;
 
+import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Set;
 
 import br.com.easymath.annotations.Formula;
+import br.com.easymath.functions.FactorialFunction;
+import br.com.easymath.functions.PowerFunction;
+import br.com.easymath.processor.mathematical.operation.AbstractOperation;
+import br.com.easymath.processor.mathematical.operation.BinaryOperation;
+import br.com.easymath.processor.mathematical.operation.FunctionOperation;
 import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.UnaryOperation;
 import br.com.easymath.processor.mathematical.operation.operand.ConstantOperand;
 import br.com.easymath.processor.mathematical.operation.operand.InputOperand;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
 
 /**
  * A model to represent a function
@@ -25,6 +34,8 @@ public class FunctionModel {
 	private Collection<InputOperand> inputs;
 	private Deque<Operation> operations;
 	private Collection<ConstantOperand> constants;
+	private Operand result;
+	private boolean varArgs;
 
 	/**
 	 * Public default constructor
@@ -33,6 +44,7 @@ public class FunctionModel {
 		this.inputs = new LinkedHashSet<>();
 		this.operations = new LinkedList<>();
 		this.constants = new LinkedHashSet<>();
+		this.varArgs = true;
 	}
 
 	/**
@@ -91,6 +103,25 @@ public class FunctionModel {
 		return formula.roundingMode();
 	}
 
+	/**
+	 * Get
+	 * 
+	 * @return The fixed scale, negative when the precision is used
+	 */
+	public int getScale() {
+		return formula.scale();
+	}
+
+	/**
+	 * Check if this model is a {@link BigDecimal} formula evaluated with a
+	 * fixed scale
+	 * 
+	 * @return <tt>true</tt> if the operations are rounded to the scale
+	 */
+	public boolean isFixedScale() {
+		return BigDecimal.class.getCanonicalName().equals(type) && formula.scale() >= 0;
+	}
+
 	/**
 	 * Get
 	 * 
@@ -162,6 +193,38 @@ public class FunctionModel {
 		return operations.addAll(c);
 	}
 
+	/**
+	 * Replace all operations of this model, used by the optimizations
+	 * 
+	 * @param c
+	 *            The new 'list' of operations
+	 */
+	public void setOperations(Collection<? extends Operation> c) {
+		operations.clear();
+		operations.addAll(c);
+	}
+
+	/**
+	 * Get
+	 * 
+	 * @return <code>true</code> if the declared method takes the inputs as
+	 *         <code>Number...</code>, <code>false</code> if as typed
+	 *         parameters
+	 */
+	public boolean isVarArgs() {
+		return varArgs;
+	}
+
+	/**
+	 * Set
+	 * 
+	 * @param varArgs
+	 *            if the declared method takes the inputs as <code>Number...</code>
+	 */
+	public void setVarArgs(boolean varArgs) {
+		this.varArgs = varArgs;
+	}
+
 	/**
 	 * Get
 	 * 
@@ -216,6 +279,70 @@ public class FunctionModel {
 		this.formula = formula;
 	}
 
+	/**
+	 * The names of the catalog functions needed to solve the operations of
+	 * this model, including the functions behind the operators '^' and '!'
+	 * 
+	 * @return The function names
+	 */
+	public Set<String> getFunctionNames() {
+		Set<String> names = new LinkedHashSet<>();
+
+		for (Operation operation : operations) {
+			if (operation instanceof FunctionOperation) {
+				names.add(((FunctionOperation) operation).getName());
+			} else if (operation instanceof BinaryOperation && "^".equals(operation.getOperator())) {
+				names.add(PowerFunction.INSTANCE.name());
+			} else if (operation instanceof UnaryOperation && "!".equals(operation.getOperator())) {
+				names.add(FactorialFunction.INSTANCE.name());
+			}
+		}
+
+		return names;
+	}
+
+	/**
+	 * The constants referenced by the operations and the result of this model
+	 * 
+	 * @return The constants in use
+	 */
+	public Set<ConstantOperand> getUsedConstants() {
+		Set<ConstantOperand> used = new LinkedHashSet<>();
+
+		for (Operation operation : operations) {
+			for (Operand operand : ((AbstractOperation) operation).getOperands()) {
+				if (operand instanceof ConstantOperand) {
+					used.add((ConstantOperand) operand);
+				}
+			}
+		}
+
+		if (result instanceof ConstantOperand) {
+			used.add((ConstantOperand) result);
+		}
+
+		return used;
+	}
+
+	/**
+	 * Get
+	 * 
+	 * @return The operand holding the result of the formula
+	 */
+	public Operand getResult() {
+		return result;
+	}
+
+	/**
+	 * Set
+	 * 
+	 * @param result
+	 *            The operand holding the result of the formula
+	 */
+	public void setResult(Operand result) {
+		this.result = result;
+	}
+
 	/**
 	 * Get
 	 * 
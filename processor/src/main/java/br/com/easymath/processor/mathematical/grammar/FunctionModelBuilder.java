@@ -1,8 +1,12 @@
 package br.com.easymath.processor.mathematical.grammar;
 
+import static java.text.MessageFormat.format;
 import static java.util.Objects.requireNonNull;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -11,9 +15,13 @@ import org.antlr.v4.runtime.tree.ParseTree;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.com.easymath.FunctionCatalog;
 import br.com.easymath.annotations.Formula;
+import br.com.easymath.functions.CoreFunctionCatalog;
 import br.com.easymath.processor.mathematical.FunctionErrorListener;
 import br.com.easymath.processor.mathematical.operation.operand.ConstantOperand;
+import br.com.easymath.processor.mathematical.operation.operand.InputOperand;
+import br.com.easymath.processor.mathematical.optimization.Optimization;
 
 /**
  * @author eduardo.valentim
@@ -27,12 +35,41 @@ public class FunctionModelBuilder {
     private String methodName;
     private String type;
     private Collection<ConstantOperand> constants;
+    private Collection<Optimization> optimizations;
+    private FunctionCatalog catalog;
+    private List<String> parameters;
 
 	/**
 	 * Public default constructor
 	 */
 	public FunctionModelBuilder() {
 		super();
+		this.optimizations = new LinkedList<>();
+		this.catalog = CoreFunctionCatalog.INSTANCE;
+	}
+
+	/**
+	 * The parameters of a method declared with typed parameters, in place of
+	 * <code>Number...</code>. The parameters are the inputs, in the declared order.
+	 * 
+	 * @param parameters The parameter names
+	 * @return A reference to this builder
+	 */
+	public FunctionModelBuilder withParameters(List<String> parameters) {
+	    this.parameters = parameters;
+	    return this;
+	}
+
+	/**
+	 * The catalog checking the arity of the known functions, the core
+	 * catalog by default
+	 * 
+	 * @param catalog The catalog
+	 * @return A reference to this builder
+	 */
+	public FunctionModelBuilder withCatalog(FunctionCatalog catalog) {
+	    this.catalog = catalog;
+	    return this;
 	}
 	
 	/**
@@ -90,6 +127,17 @@ public class FunctionModelBuilder {
         return this;
     }
 
+    /**
+     * The optimizations to apply, in order, over the operations of the model
+     * 
+     * @param optimizations The optimizations
+     * @return A reference to this builder
+     */
+    public FunctionModelBuilder withOptimizations(Optimization... optimizations) {
+        this.optimizations.addAll(Arrays.asList(optimizations));
+        return this;
+    }
+
     /**
      * Create a new FunctionModel
 	 * @return A new FunctionModel
@@ -99,8 +147,9 @@ public class FunctionModelBuilder {
         requireNonNull(type);
         requireNonNull(formula);
         requireNonNull(constants);
+        requireNonNull(catalog);
         
-        GrammarTreeVisitor visitor = new GrammarTreeVisitor(type);
+        GrammarTreeVisitor visitor = new GrammarTreeVisitor(type, catalog);
         /*
          * create a CharStream that reads from standard input
          */
@@ -136,15 +185,37 @@ public class FunctionModelBuilder {
             throw new IllegalStateException("Recognition exception is never thrown, only declared.", ex);
         }
 
-        constants.addAll(visitor.getConstants());
-        
         FunctionModel model = new FunctionModel();
         model.setType(type);
         model.setName(methodName);
         model.setFormula(formula);
-        model.addAllConstants(constants);
-        model.addAllInputs(visitor.getInputs());
+        if (parameters == null) {
+            model.addAllInputs(visitor.getInputs());
+        } else {
+            /*
+             * Every input of the formula must be a parameter of the method
+             */
+            for (InputOperand operand : visitor.getInputs()) {
+                if (!parameters.contains(operand.getId()))
+                    throw new IllegalArgumentException(format("The input ''{0}'' of the formula ''{1}'' is not a parameter of the method ''{2}.{3}''.",
+                            operand.getId(), formula.value(), className, methodName));
+            }
+            for (String parameter : parameters) {
+                model.addInput(new InputOperand(type, parameter));
+            }
+            model.setVarArgs(false);
+        }
         model.addAllOperations(visitor.getOperations());
+        model.setResult(visitor.getResult());
+
+        for (Optimization optimization : optimizations) {
+            optimization.optimize(model);
+        }
+        /*
+         * Only the constants still referenced after the optimizations are declared
+         */
+        constants.addAll(model.getUsedConstants());
+        model.addAllConstants(constants);
 
 		return model;
 	}
@@ -1,5 +1,7 @@
 package br.com.easymath.processor.mathematical.grammar;
 
+import static java.text.MessageFormat.format;
+
 import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -8,6 +10,9 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.com.easymath.Function;
+import br.com.easymath.FunctionCatalog;
+import br.com.easymath.functions.CoreFunctionCatalog;
 import br.com.easymath.processor.mathematical.grammar.FormulaParser.BinaryContext;
 import br.com.easymath.processor.mathematical.grammar.FormulaParser.BracesContext;
 import br.com.easymath.processor.mathematical.grammar.FormulaParser.BracketsContext;
@@ -46,10 +51,13 @@ public class GrammarTreeVisitor extends FormulaBaseVisitor<String> {
 	private Set<String> constants;
 	private Set<String> inputs;
 	private String type;
+	private FunctionCatalog catalog;
 	private int id = 0;
 
 	private String formula;
 
+	private Operand result;
+
 	/**
 	 * Public constructor
 	 * 
@@ -57,8 +65,21 @@ public class GrammarTreeVisitor extends FormulaBaseVisitor<String> {
 	 *            The type of the function
 	 */
 	public GrammarTreeVisitor(String type) {
+		this(type, CoreFunctionCatalog.INSTANCE);
+	}
+
+	/**
+	 * Public constructor
+	 * 
+	 * @param type
+	 *            The type of the function
+	 * @param catalog
+	 *            The catalog checking the arity of the known functions
+	 */
+	public GrammarTreeVisitor(String type, FunctionCatalog catalog) {
 		super();
 		this.type = type;
+		this.catalog = catalog;
 		this.operations = new LinkedList<>();
 		this.inputs = new LinkedHashSet<>();
 		this.constants = new LinkedHashSet<>();
@@ -77,6 +98,15 @@ public class GrammarTreeVisitor extends FormulaBaseVisitor<String> {
 		return formula;
 	}
 
+	/**
+	 * Get
+	 * 
+	 * @return The operand holding the result of the formula
+	 */
+	public Operand getResult() {
+		return result;
+	}
+
 	/**
 	 * Get
 	 * 
@@ -126,7 +156,10 @@ public class GrammarTreeVisitor extends FormulaBaseVisitor<String> {
 		this.formula = ctx.getText();
 		LOGGER.debug("Compiling formula: {}", formula);
 
-		return visit(ctx.expression());
+		String generatedId = visit(ctx.expression());
+		this.result = createOperand(generatedId);
+
+		return generatedId;
 	}
 
 	/**
@@ -167,6 +200,15 @@ public class GrammarTreeVisitor extends FormulaBaseVisitor<String> {
 		for (ExpressionContext expr : ctx.expression()) {
 			operands.add(createOperand(visit(expr)));
 		}
+		/*
+		 * Functions unknown at compile time are checked by the catalog of the execution
+		 */
+		if (catalog.contains(name)) {
+			int arity = catalog.resolve(name).getArity();
+			if (arity != Function.VARIADIC && arity != operands.size())
+				throw new IllegalArgumentException(format("Function ''{0}'' expects {1} argument(s), found {2}: {3}",
+						name, arity, operands.size(), ctx.getText()));
+		}
 
 		FunctionOperation operation = new FunctionOperation(generatedId, name, type, operands, ctx.getText());
 		operations.add(operation);
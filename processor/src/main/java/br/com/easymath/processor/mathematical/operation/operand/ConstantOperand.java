@@ -27,6 +27,6 @@ public class ConstantOperand extends AbstractOperand {
         	id = String.format("D%s", value);
         }
         
-        return id.replace(".", "_");
+        return id.replace(".", "_").replace("-", "N").replace("+", "P");
     }
 }
@@ -0,0 +1,163 @@
+package br.com.easymath.processor.mathematical.optimization;
+
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+
+import br.com.easymath.FunctionCatalog;
+import br.com.easymath.processor.mathematical.operation.AbstractOperation;
+import br.com.easymath.processor.mathematical.operation.BinaryOperation;
+import br.com.easymath.processor.mathematical.operation.FunctionOperation;
+import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.UnaryOperation;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
+import br.com.easymath.processor.mathematical.operation.operand.ResultOperand;
+
+/**
+ * A abstract optimization with the operand rewriting shared by all passes
+ *
+ * @author eduardo.valentim
+ */
+public abstract class AbstractOptimization implements Optimization {
+
+	/**
+	 * Rewrite the result operands of a operation that were replaced by a
+	 * previous step of the pass
+	 *
+	 * @param operation
+	 *            The operation
+	 * @param replacements
+	 *            The replaced operation ids and the operands to use instead
+	 * @return The same operation if nothing changed or a new one
+	 */
+	protected Operation rewrite(Operation operation, Map<String, Operand> replacements) {
+		return rewrite(operation, operation.getId(), replacements);
+	}
+
+	/**
+	 * Rewrite the result operands of a operation that were replaced by a
+	 * previous step of the pass, giving it a new id
+	 *
+	 * @param operation
+	 *            The operation
+	 * @param id
+	 *            The id of the rewritten operation
+	 * @param replacements
+	 *            The replaced operation ids and the operands to use instead
+	 * @return The same operation if nothing changed or a new one
+	 */
+	protected Operation rewrite(Operation operation, String id, Map<String, Operand> replacements) {
+		Operation result = operation;
+		boolean renamed = !id.equals(operation.getId());
+
+		if (operation instanceof BinaryOperation) {
+			BinaryOperation binary = (BinaryOperation) operation;
+			Operand left = replace(binary.getLeftOperand(), replacements);
+			Operand right = replace(binary.getRightOperand(), replacements);
+
+			if (renamed || left != binary.getLeftOperand() || right != binary.getRightOperand()) {
+				result = new BinaryOperation(id, binary.getType(), left, binary.getOperator(), right,
+						binary.getText());
+			}
+		} else if (operation instanceof UnaryOperation) {
+			UnaryOperation unary = (UnaryOperation) operation;
+			Operand operand = replace(unary.getOperand(), replacements);
+
+			if (renamed || operand != unary.getOperand()) {
+				result = new UnaryOperation(id, unary.getType(), operand, unary.getOperator(),
+						unary.getText());
+			}
+		} else if (operation instanceof FunctionOperation) {
+			FunctionOperation function = (FunctionOperation) operation;
+			Deque<Operand> operands = new LinkedList<>();
+			boolean changed = renamed;
+
+			for (Operand operand : function.getOperands()) {
+				Operand replaced = replace(operand, replacements);
+				changed |= replaced != operand;
+				operands.add(replaced);
+			}
+
+			if (changed) {
+				result = new FunctionOperation(id, function.getName(), function.getType(), operands,
+						function.getText());
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Replace a result operand of a operation replaced by a previous step of
+	 * the pass
+	 *
+	 * @param operand
+	 *            The operand
+	 * @param replacements
+	 *            The replaced operation ids and the operands to use instead
+	 * @return The same operand if it was not replaced or the replacement
+	 */
+	protected Operand replace(Operand operand, Map<String, Operand> replacements) {
+		Operand result = operand;
+
+		if (operand instanceof ResultOperand && replacements.containsKey(operand.getId())) {
+			result = replacements.get(operand.getId());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Check if a operation depends only on its operands. A function unknown to
+	 * the catalog can be bound to a impure one on the execution, so it is
+	 * taken as impure.
+	 *
+	 * @param catalog
+	 *            The catalog telling the pure functions
+	 * @param operation
+	 *            The operation
+	 * @return <code>true</code> if equal operations can be computed once
+	 */
+	protected static boolean isPure(FunctionCatalog catalog, Operation operation) {
+		if (operation instanceof FunctionOperation) {
+			String name = ((FunctionOperation) operation).getName();
+			return catalog.contains(name) && catalog.getFunction(name).isPure();
+		}
+		return true;
+	}
+
+	/**
+	 * Remove the operations whose results are not used to compute the result
+	 * of the formula
+	 *
+	 * @param operations
+	 *            The operations in evaluation order
+	 * @param result
+	 *            The operand holding the result of the formula
+	 * @return The operations still needed, in evaluation order
+	 */
+	protected List<Operation> removeUnused(List<Operation> operations, Operand result) {
+		Set<String> used = new HashSet<>();
+		LinkedList<Operation> needed = new LinkedList<>();
+
+		used.add(result.getId());
+
+		for (ListIterator<Operation> iterator = operations.listIterator(operations.size()); iterator.hasPrevious();) {
+			Operation operation = iterator.previous();
+
+			if (used.contains(operation.getId())) {
+				needed.addFirst(operation);
+
+				for (Operand operand : ((AbstractOperation) operation).getOperands()) {
+					used.add(operand.getId());
+				}
+			}
+		}
+
+		return needed;
+	}
+}
@@ -0,0 +1,118 @@
+package br.com.easymath.processor.mathematical.optimization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.easymath.Function;
+import br.com.easymath.FunctionCatalog;
+import br.com.easymath.functions.CoreFunctionCatalog;
+import br.com.easymath.processor.mathematical.grammar.FunctionModel;
+import br.com.easymath.processor.mathematical.operation.AbstractOperation;
+import br.com.easymath.processor.mathematical.operation.BinaryOperation;
+import br.com.easymath.processor.mathematical.operation.FunctionOperation;
+import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
+import br.com.easymath.processor.mathematical.operation.operand.ResultOperand;
+
+/**
+ * Compute each distinct subexpression only once. Operations are identified
+ * by the operator (or function name) and the ids of the operands, so a
+ * operation equal to a previous one is removed and its result is replaced by
+ * the result of the previous one. The operands of the commutative operators
+ * '+' and '*' are compared in any order.
+ *
+ * Only the functions the catalog knows as pure, as defined by
+ * {@link Function#isPure()}, are computed once.
+ *
+ * @author eduardo.valentim
+ */
+public class CommonSubexpressionElimination extends AbstractOptimization {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CommonSubexpressionElimination.class);
+
+	private final FunctionCatalog catalog;
+
+	/**
+	 * Public constructor over the core catalog
+	 */
+	public CommonSubexpressionElimination() {
+		this(CoreFunctionCatalog.INSTANCE);
+	}
+
+	/**
+	 * Public constructor
+	 * 
+	 * @param catalog
+	 *            The catalog telling the pure functions
+	 */
+	public CommonSubexpressionElimination(FunctionCatalog catalog) {
+		super();
+		/*
+		 * Method protection
+		 */
+		if (catalog == null)
+			throw new IllegalArgumentException("Argument 'catalog' cannot be null.");
+
+		this.catalog = catalog;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void optimize(FunctionModel model) {
+		Map<String, String> computed = new HashMap<>();
+		Map<String, Operand> replacements = new HashMap<>();
+		List<Operation> operations = new LinkedList<>();
+
+		for (Operation original : model.getOperations()) {
+			Operation operation = rewrite(original, replacements);
+			String key = key(operation);
+			String previous = isPure(catalog, operation) ? computed.get(key) : null;
+
+			if (previous == null) {
+				computed.put(key, operation.getId());
+				operations.add(operation);
+			} else {
+				LOGGER.debug("Reusing {} for {}: {}", previous, operation.getId(), operation.getText());
+				replacements.put(operation.getId(), new ResultOperand(operation.getType(), previous));
+			}
+		}
+
+		model.setOperations(operations);
+		model.setResult(replace(model.getResult(), replacements));
+	}
+
+	/**
+	 * The identity of a operation: the operator, or function name, and the
+	 * operands
+	 * 
+	 * @param operation
+	 *            The operation
+	 * @return Equal keys for operations computing the same value
+	 */
+	static String key(Operation operation) {
+		List<String> operands = new ArrayList<>();
+
+		for (Operand operand : ((AbstractOperation) operation).getOperands()) {
+			operands.add(operand.getClass().getSimpleName() + ":" + operand.getId());
+		}
+
+		if (operation instanceof BinaryOperation
+				&& ("+".equals(operation.getOperator()) || "*".equals(operation.getOperator()))) {
+			Collections.sort(operands);
+		}
+
+		String operator = operation instanceof FunctionOperation ? ((FunctionOperation) operation).getName()
+				: operation.getOperator();
+
+		return operation.getClass().getSimpleName() + "|" + operator + "|" + operands;
+	}
+}
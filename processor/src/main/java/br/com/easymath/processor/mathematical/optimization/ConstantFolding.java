@@ -0,0 +1,294 @@
+package br.com.easymath.processor.mathematical.optimization;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.easymath.MutableDecimal;
+import br.com.easymath.processor.mathematical.grammar.FunctionModel;
+import br.com.easymath.processor.mathematical.operation.BinaryOperation;
+import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.UnaryOperation;
+import br.com.easymath.processor.mathematical.operation.operand.ConstantOperand;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
+import br.com.easymath.processor.mathematical.operation.operand.ResultOperand;
+
+/**
+ * Evaluate at compile time the arithmetic operations over constants and
+ * remove the identities <code>x * 1</code>, <code>x / 1</code>,
+ * <code>x + 0</code>, <code>x - 0</code>, <code>+x</code> and
+ * <code>-(-x)</code>.
+ *
+ * BigDecimal operations are folded with the precision and rounding mode of
+ * the formula, exactly as they would run. As every BigDecimal operation
+ * rounds its result, the identities are only removed there when
+ * <code>x</code> is already the rounded result of other arithmetic
+ * operation. Formulas with a fixed scale are folded with
+ * {@link MutableDecimal}, and as every operand is rounded to the scale the
+ * identities are always removed. Double formulas keep <code>x + 0</code>,
+ * because <code>-0.0 + 0.0</code> is <code>+0.0</code>. Operations solved
+ * by the catalog ('^', '!' and functions) are kept, because the catalog may
+ * be overridden when the class is built.
+ *
+ * @author eduardo.valentim
+ */
+public class ConstantFolding extends AbstractOptimization {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConstantFolding.class);
+
+	private static final String BIG_DECIMAL = BigDecimal.class.getCanonicalName();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void optimize(FunctionModel model) {
+		/*
+		 * Every operand of a fixed scale formula is rounded to the scale, so
+		 * only the formulas using the precision keep the identities
+		 */
+		MutableDecimal fixed = model.isFixedScale() ? new MutableDecimal(model.getScale(), model.getRoundingMode())
+				: null;
+		boolean decimal = BIG_DECIMAL.equals(model.getType()) && fixed == null;
+		MathContext mc = new MathContext(model.getPrecision(), model.getRoundingMode());
+
+		Map<String, Operand> replacements = new HashMap<>();
+		Map<String, UnaryOperation> negations = new HashMap<>();
+		Set<String> rounded = new HashSet<>();
+		List<Operation> operations = new LinkedList<>();
+
+		for (Operation original : model.getOperations()) {
+			Operation operation = rewrite(original, replacements);
+			Operand replacement = null;
+
+			if (operation instanceof BinaryOperation) {
+				replacement = fold((BinaryOperation) operation, decimal, mc, fixed, rounded);
+			} else if (operation instanceof UnaryOperation) {
+				replacement = fold((UnaryOperation) operation, decimal, mc, fixed, rounded, negations);
+			}
+
+			if (replacement == null) {
+				operations.add(operation);
+
+				if (isRounding(operation)) {
+					rounded.add(operation.getId());
+				}
+				if (operation instanceof UnaryOperation && "-".equals(operation.getOperator())) {
+					negations.put(operation.getId(), (UnaryOperation) operation);
+				}
+			} else {
+				LOGGER.debug("Folding {} into {}: {}", operation.getId(), replacement.getId(), operation.getText());
+				replacements.put(operation.getId(), replacement);
+			}
+		}
+
+		Operand result = replace(model.getResult(), replacements);
+
+		model.setOperations(removeUnused(operations, result));
+		model.setResult(result);
+	}
+
+	private Operand fold(BinaryOperation operation, boolean decimal, MathContext mc, MutableDecimal fixed,
+			Set<String> rounded) {
+		String operator = operation.getOperator();
+		Operand left = operation.getLeftOperand();
+		Operand right = operation.getRightOperand();
+
+		/*
+		 * Adding zero turns a negative zero double into a positive one
+		 */
+		boolean additive = decimal || fixed != null;
+
+		Operand result = null;
+
+		if (left instanceof ConstantOperand && right instanceof ConstantOperand) {
+			String value = evaluate(operator, left.getValue(), right.getValue(), decimal, mc, fixed);
+
+			if (value != null) {
+				result = new ConstantOperand(operation.getType(), value);
+			}
+		} else if (("*".equals(operator) && isConstant(left, 1))
+				|| ("+".equals(operator) && additive && isConstant(left, 0))) {
+			result = identity(right, decimal, rounded);
+		} else if ((("*".equals(operator) || "/".equals(operator)) && isConstant(right, 1))
+				|| ("+".equals(operator) && additive && isConstant(right, 0))
+				|| ("-".equals(operator) && isConstant(right, 0))) {
+			result = identity(left, decimal, rounded);
+		}
+
+		return result;
+	}
+
+	private Operand fold(UnaryOperation operation, boolean decimal, MathContext mc, MutableDecimal fixed,
+			Set<String> rounded, Map<String, UnaryOperation> negations) {
+		String operator = operation.getOperator();
+		Operand operand = operation.getOperand();
+
+		Operand result = null;
+
+		if ("+".equals(operator)) {
+			result = operand;
+		} else if ("-".equals(operator)) {
+			if (operand instanceof ConstantOperand) {
+				String value = evaluate("*", operand.getValue(), "-1", decimal, mc, fixed);
+
+				if (value != null) {
+					result = new ConstantOperand(operation.getType(), value);
+				}
+			} else if (negations.containsKey(operand.getId())) {
+				result = identity(negations.get(operand.getId()).getOperand(), decimal, rounded);
+			}
+		}
+
+		return result;
+	}
+
+	private Operand identity(Operand operand, boolean decimal, Set<String> rounded) {
+		Operand result = null;
+
+		if (!decimal || (operand instanceof ResultOperand && rounded.contains(operand.getId()))) {
+			result = operand;
+		}
+
+		return result;
+	}
+
+	private boolean isRounding(Operation operation) {
+		boolean result = false;
+
+		if (operation instanceof BinaryOperation) {
+			result = !"^".equals(operation.getOperator());
+		} else if (operation instanceof UnaryOperation) {
+			result = "-".equals(operation.getOperator());
+		}
+
+		return result;
+	}
+
+	private boolean isConstant(Operand operand, int value) {
+		boolean result = false;
+
+		if (operand instanceof ConstantOperand) {
+			try {
+				result = new BigDecimal(operand.getValue()).compareTo(BigDecimal.valueOf(value)) == 0;
+			} catch (NumberFormatException ex) {
+				result = false;
+			}
+		}
+
+		return result;
+	}
+
+	private String evaluate(String operator, String left, String right, boolean decimal, MathContext mc,
+			MutableDecimal fixed) {
+		String result;
+
+		if (fixed != null) {
+			result = evaluate(operator, left, right, fixed);
+		} else if (decimal) {
+			result = evaluate(operator, left, right, mc);
+		} else {
+			result = evaluate(operator, left, right);
+		}
+
+		return result;
+	}
+
+	private String evaluate(String operator, String left, String right, MutableDecimal fixed) {
+		String result = null;
+
+		try {
+			MutableDecimal a = new MutableDecimal(fixed.getScale(), fixed.getRoundingMode()).set(new BigDecimal(left));
+			MutableDecimal b = new MutableDecimal(fixed.getScale(), fixed.getRoundingMode()).set(new BigDecimal(right));
+			MutableDecimal value = null;
+
+			if ("*".equals(operator)) {
+				value = fixed.multiply(a, b);
+			} else if ("/".equals(operator)) {
+				value = fixed.divide(a, b);
+			} else if ("%".equals(operator)) {
+				value = fixed.remainder(a, b);
+			} else if ("+".equals(operator)) {
+				value = fixed.add(a, b);
+			} else if ("-".equals(operator)) {
+				value = fixed.subtract(a, b);
+			}
+
+			if (value != null) {
+				result = value.toString();
+			}
+		} catch (NumberFormatException | ArithmeticException ex) {
+			LOGGER.debug("Constant operation not folded: {} {} {}", left, operator, right, ex);
+		}
+
+		return result;
+	}
+
+	private String evaluate(String operator, String left, String right, MathContext mc) {
+		String result = null;
+
+		try {
+			BigDecimal a = new BigDecimal(left);
+			BigDecimal b = new BigDecimal(right);
+			BigDecimal value = null;
+
+			if ("*".equals(operator)) {
+				value = a.multiply(b, mc);
+			} else if ("/".equals(operator)) {
+				value = a.divide(b, mc);
+			} else if ("%".equals(operator)) {
+				value = a.remainder(b, mc);
+			} else if ("+".equals(operator)) {
+				value = a.add(b, mc);
+			} else if ("-".equals(operator)) {
+				value = a.subtract(b, mc);
+			}
+
+			if (value != null) {
+				result = value.toString();
+			}
+		} catch (NumberFormatException | ArithmeticException ex) {
+			LOGGER.debug("Constant operation not folded: {} {} {}", left, operator, right, ex);
+		}
+
+		return result;
+	}
+
+	private String evaluate(String operator, String left, String right) {
+		String result = null;
+
+		try {
+			double a = Double.parseDouble(left);
+			double b = Double.parseDouble(right);
+			Double value = null;
+
+			if ("*".equals(operator)) {
+				value = a * b;
+			} else if ("/".equals(operator)) {
+				value = a / b;
+			} else if ("%".equals(operator)) {
+				value = a % b;
+			} else if ("+".equals(operator)) {
+				value = a + b;
+			} else if ("-".equals(operator)) {
+				value = a - b;
+			}
+
+			if (value != null && !value.isNaN() && !value.isInfinite()) {
+				result = value.toString();
+			}
+		} catch (NumberFormatException ex) {
+			LOGGER.debug("Constant operation not folded: {} {} {}", left, operator, right, ex);
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,207 @@
+package br.com.easymath.processor.mathematical.optimization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.easymath.FunctionCatalog;
+import br.com.easymath.functions.CoreFunctionCatalog;
+import br.com.easymath.processor.mathematical.grammar.FunctionModel;
+import br.com.easymath.processor.mathematical.operation.FunctionOperation;
+import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.operand.InputOperand;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
+import br.com.easymath.processor.mathematical.operation.operand.ResultOperand;
+
+/**
+ * Merge the operations of many formulas over <code>double</code> in a single
+ * model, computing once the subexpressions shared by the formulas. The
+ * operations solved by the catalog are only shared by formulas with the same
+ * precision and rounding mode, because the catalog receives the context.
+ *
+ * @author eduardo.valentim
+ */
+public class FormulaFusion extends AbstractOptimization {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FormulaFusion.class);
+
+	private static final String TYPE = "double";
+
+	private final FunctionCatalog catalog;
+
+	private final FunctionModel model;
+
+	private final List<String> names;
+
+	private final List<Operand> results;
+
+	private final Map<String, String> contexts;
+
+	private final Map<String, String> computed;
+
+	private String initialContext;
+
+	/**
+	 * Public constructor over the core catalog
+	 */
+	public FormulaFusion() {
+		this(CoreFunctionCatalog.INSTANCE);
+	}
+
+	/**
+	 * Public constructor
+	 * 
+	 * @param catalog
+	 *            The catalog telling the pure functions
+	 */
+	public FormulaFusion(FunctionCatalog catalog) {
+		super();
+		/*
+		 * Method protection
+		 */
+		if (catalog == null)
+			throw new IllegalArgumentException("Argument 'catalog' cannot be null.");
+
+		this.catalog = catalog;
+		this.model = new FunctionModel();
+		this.model.setType(TYPE);
+		this.names = new ArrayList<>();
+		this.results = new ArrayList<>();
+		this.contexts = new HashMap<>();
+		this.computed = new HashMap<>();
+	}
+
+	/**
+	 * Check if a formula can be fused
+	 * 
+	 * @param function
+	 *            The formula
+	 * @return <code>true</code> if the formula is over <code>double</code>
+	 */
+	public static boolean isFusible(FunctionModel function) {
+		return TYPE.equals(function.getType()) || Double.class.getName().equals(function.getType());
+	}
+
+	/**
+	 * Merge the operations of the fusible formulas, in order
+	 * 
+	 * @param functions
+	 *            The formulas, the ones not fusible are ignored
+	 * @return This fusion
+	 */
+	public FormulaFusion fuse(Collection<FunctionModel> functions) {
+		for (FunctionModel function : functions) {
+			optimize(function);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Merge the operations of a formula in the fused model, reusing the ones
+	 * already computed by the previous formulas. The formula is kept as is.
+	 * 
+	 * @param function
+	 *            The formula, ignored if not fusible
+	 */
+	@Override
+	public void optimize(FunctionModel function) {
+		if (!isFusible(function))
+			return;
+
+		String context = StringUtils.uncapitalize(function.getName()) + "Context";
+		String precision = function.getPrecision() + ":" + function.getRoundingMode();
+		Map<String, Operand> replacements = new HashMap<>();
+
+		if (initialContext == null) {
+			initialContext = context;
+		}
+		for (InputOperand input : function.getInputs()) {
+			model.addInput(new InputOperand(TYPE, input.getId()));
+		}
+
+		for (Operation original : function.getOperations()) {
+			Operation operation = rewrite(original, "r" + model.getOperations().size(), replacements);
+			boolean contextual = isContextual(operation);
+			String key = CommonSubexpressionElimination.key(operation) + (contextual ? "|" + precision : "");
+			String previous = isPure(catalog, operation) ? computed.get(key) : null;
+
+			if (previous == null) {
+				computed.put(key, operation.getId());
+				contexts.put(operation.getId(), contextual ? context : "");
+				model.addOperation(operation);
+				replacements.put(original.getId(), new ResultOperand(operation.getType(), operation.getId()));
+			} else {
+				LOGGER.debug("Reusing {} for {}: {}", previous, original.getId(), original.getText());
+				replacements.put(original.getId(), new ResultOperand(operation.getType(), previous));
+			}
+		}
+
+		names.add(function.getName());
+		results.add(replace(function.getResult(), replacements));
+	}
+
+	/**
+	 * Get
+	 * 
+	 * @return The merged inputs and operations
+	 */
+	public FunctionModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Get
+	 * 
+	 * @return The names of the fused formulas, in the order of the results
+	 */
+	public List<String> getNames() {
+		return Collections.unmodifiableList(names);
+	}
+
+	/**
+	 * Get
+	 * 
+	 * @return The operands holding the result of each fused formula
+	 */
+	public List<Operand> getResults() {
+		return Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * Get
+	 * 
+	 * @return The context of the first fused formula
+	 */
+	public String getInitialContext() {
+		return initialContext;
+	}
+
+	/**
+	 * The context of a merged operation solved by the catalog
+	 * 
+	 * @param operation
+	 *            The merged operation
+	 * @return The name of the context field or a empty string if the
+	 *         operation does not use the context
+	 */
+	public String getContext(Operation operation) {
+		return contexts.get(operation.getId());
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private boolean isContextual(Operation operation) {
+		return operation instanceof FunctionOperation || "^".equals(operation.getOperator())
+				|| "!".equals(operation.getOperator());
+	}
+}
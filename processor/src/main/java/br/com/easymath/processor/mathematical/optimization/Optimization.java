@@ -0,0 +1,21 @@
+package br.com.easymath.processor.mathematical.optimization;
+
+import br.com.easymath.processor.mathematical.grammar.FunctionModel;
+
+/**
+ * A transformation over the operations of a function model that keeps the
+ * result of the formula
+ *
+ * @author eduardo.valentim
+ */
+public interface Optimization {
+
+	/**
+	 * Optimize the operations of the model in place
+	 *
+	 * @param model
+	 *            The model to optimize
+	 */
+	public void optimize(FunctionModel model);
+
+}
@@ -0,0 +1,226 @@
+package br.com.easymath.processor.mathematical.utils;
+
+import static java.util.Objects.requireNonNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import br.com.easymath.Function;
+import br.com.easymath.FunctionHandle;
+import br.com.easymath.functions.ACosFunction;
+import br.com.easymath.functions.ASinFunction;
+import br.com.easymath.functions.ATanFunction;
+import br.com.easymath.functions.CosFunction;
+import br.com.easymath.functions.PowerFunction;
+import br.com.easymath.functions.SinFunction;
+import br.com.easymath.functions.SquareRootFunction;
+import br.com.easymath.functions.TanFunction;
+import br.com.easymath.functions.ToDegreesFunction;
+import br.com.easymath.functions.ToRadiansFunction;
+import br.com.easymath.processor.mathematical.operation.AbstractOperation;
+import br.com.easymath.processor.mathematical.operation.BinaryOperation;
+import br.com.easymath.processor.mathematical.operation.FunctionOperation;
+import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.operand.ConstantOperand;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
+
+/**
+ * Utility class to inline the core functions in the velocity template
+ *
+ * @author eduardovalentim
+ */
+public class InlineUtils {
+
+	private static final Map<String, FunctionHandle<?>> BUILT_INS = new HashMap<>();
+
+	private static final Map<String, String> DOUBLE_METHODS = new HashMap<>();
+
+	static {
+		register(PowerFunction.INSTANCE, "Math.pow");
+		register(SquareRootFunction.INSTANCE, "Math.sqrt");
+		register(SinFunction.INSTANCE, "Math.sin");
+		register(CosFunction.INSTANCE, "Math.cos");
+		register(TanFunction.INSTANCE, "Math.tan");
+		register(ASinFunction.INSTANCE, "Math.asin");
+		register(ACosFunction.INSTANCE, "Math.acos");
+		register(ATanFunction.INSTANCE, "Math.atan");
+		register(ToRadiansFunction.INSTANCE, "Math.toRadians");
+		register(ToDegreesFunction.INSTANCE, "Math.toDegrees");
+	}
+
+	private static void register(Function<?> function, String method) {
+		BUILT_INS.put(function.name(), new FunctionHandle<>(function));
+		DOUBLE_METHODS.put(function.name(), method);
+	}
+
+	/**
+	 * Check if a function name is a core function that can be inlined
+	 *
+	 * @param name The function name
+	 * @return True if the function can be inlined
+	 */
+	public static boolean isBuiltIn(String name) {
+		return BUILT_INS.containsKey(name);
+	}
+
+	/**
+	 * The instance of a core function
+	 *
+	 * @param name The function name
+	 * @return The instance registered in the core catalog or null if the name is
+	 *         not a core function that can be inlined
+	 */
+	public static Function<?> getBuiltIn(String name) {
+		FunctionHandle<?> handle = BUILT_INS.get(name);
+
+		return handle == null ? null : handle.getFunction();
+	}
+
+	/**
+	 * The class of a core function
+	 *
+	 * @param name The function name
+	 * @return The canonical name of the class implementing the function
+	 */
+	public static String getBuiltInClass(String name) {
+		requireNonNull(name, "Argument 'name' cannot be null.");
+
+		return BUILT_INS.get(name).getFunction().getClass().getCanonicalName();
+	}
+
+	/**
+	 * Check if a operation can be written as a plain java expression for the
+	 * primitive double type
+	 *
+	 * @param operation The operation
+	 * @return True if the operation can be inlined
+	 */
+	public static boolean isInlineable(Operation operation) {
+		requireNonNull(operation, "Argument 'operation' cannot be null.");
+
+		boolean result = false;
+
+		if (operation instanceof BinaryOperation) {
+			result = "^".equals(operation.getOperator());
+		} else if (operation instanceof FunctionOperation) {
+			FunctionOperation function = (FunctionOperation) operation;
+			result = isBuiltIn(function.getName())
+					&& function.getOperands().size() == (PowerFunction.INSTANCE.name().equals(function.getName()) ? 2 : 1);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Write a inlineable operation as a java expression over primitive
+	 * doubles. Operations over constants only are replaced by the literal
+	 * result and powers with small constant exponents are reduced to
+	 * multiplications. A exponent of one half is kept, because the square
+	 * root differs from the power for negative zero and infinity.
+	 *
+	 * @param operation The operation
+	 * @return The java expression
+	 */
+	public static String toDoubleExpression(Operation operation) {
+		return toDoubleExpression(operation, UnaryOperator.identity());
+	}
+
+	/**
+	 * Write a inlineable operation as a java expression over primitive
+	 * doubles, naming the operands as the generated code declares them
+	 *
+	 * @param operation The operation
+	 * @param names The java name of each operand id
+	 * @return The java expression
+	 */
+	public static String toDoubleExpression(Operation operation, UnaryOperator<String> names) {
+		requireNonNull(names, "Argument 'names' cannot be null.");
+		if (!isInlineable(operation))
+			throw new IllegalArgumentException("Argument 'operation' cannot be inlined: " + operation);
+
+		String expression = literal(operation);
+
+		if (expression == null && operation instanceof BinaryOperation) {
+			BinaryOperation binary = (BinaryOperation) operation;
+			expression = power(names.apply(binary.getLeftOperand().getId()), binary.getRightOperand(), names);
+		} else if (expression == null) {
+			FunctionOperation function = (FunctionOperation) operation;
+
+			List<String> arguments = new LinkedList<>();
+			for (Operand operand : function.getOperands()) {
+				arguments.add(names.apply(operand.getId()));
+			}
+
+			if (PowerFunction.INSTANCE.name().equals(function.getName())) {
+				expression = power(arguments.get(0), function.getOperands().getLast(), names);
+			} else {
+				expression = DOUBLE_METHODS.get(function.getName()) + "(" + String.join(", ", arguments) + ")";
+			}
+		}
+
+		return expression;
+	}
+
+	private static String literal(Operation operation) {
+		String name = operation instanceof FunctionOperation ? ((FunctionOperation) operation).getName()
+				: PowerFunction.INSTANCE.name();
+
+		List<Double> values = new LinkedList<>();
+		for (Operand operand : ((AbstractOperation) operation).getOperands()) {
+			if (!(operand instanceof ConstantOperand) || !isDecimal(operand.getValue()))
+				return null;
+
+			values.add(Double.valueOf(operand.getValue()));
+		}
+
+		double value;
+		if (values.size() == 2) {
+			value = BUILT_INS.get(name).performAsDouble(MathContext.DECIMAL64, values.get(0), values.get(1));
+		} else {
+			value = BUILT_INS.get(name).performAsDouble(MathContext.DECIMAL64, values.get(0));
+		}
+
+		return Double.isNaN(value) || Double.isInfinite(value) ? null : Double.toString(value) + "D";
+	}
+
+	private static String power(String base, Operand exponent, UnaryOperator<String> names) {
+		String expression = null;
+
+		if (exponent instanceof ConstantOperand && isDecimal(exponent.getValue())) {
+			BigDecimal value = new BigDecimal(exponent.getValue());
+
+			if (value.compareTo(BigDecimal.ZERO) == 0) {
+				expression = "1D";
+			} else if (value.compareTo(BigDecimal.ONE) == 0) {
+				expression = base;
+			} else if (value.compareTo(new BigDecimal("2")) == 0) {
+				expression = base + " * " + base;
+			} else if (value.compareTo(new BigDecimal("3")) == 0) {
+				expression = base + " * " + base + " * " + base;
+			}
+		}
+
+		if (expression == null) {
+			expression = "Math.pow(" + base + ", " + names.apply(exponent.getId()) + ")";
+		}
+
+		return expression;
+	}
+
+	private static boolean isDecimal(String value) {
+		boolean result = true;
+
+		try {
+			new BigDecimal(value);
+		} catch (NumberFormatException ex) {
+			result = false;
+		}
+
+		return result;
+	}
+}
@@ -2,12 +2,15 @@ package br.com.easymath.processor.mathematical.utils;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
@@ -228,6 +231,60 @@ public class ReflectionUtils {
 		return result;
 	}
 
+	/**
+	 * Check if all the parameters of a method have the same type
+	 * 
+	 * @param element The element
+	 * @param type The string representation of the type. Ex: double
+	 * @return <code>true</code> if the method has parameters and all have the type
+	 */
+	public boolean isMethodTakingParameters(Element element, String type) {
+		/*
+		 * Method protection
+		 */
+		requireNonNull(element, "Argument 'element' cannot be null.");
+		requireNonNull(type, "Argument 'type' cannot be null.");
+		/*
+		 * Default result
+		 */
+		boolean result = false;
+		/*
+		 * Check if the element is a method
+		 */
+		if (isMethod(element)) {
+			List<? extends VariableElement> parameters = ((ExecutableElement) element).getParameters();
+			result = !parameters.isEmpty();
+			for (VariableElement parameter : parameters) {
+				result &= type.equals(parameter.asType().toString());
+			}
+		}
+		/*
+		 * Result
+		 */
+		return result;
+	}
+
+	/**
+	 * Get the names of the parameters of a method
+	 * 
+	 * @param element The element
+	 * @return The names in the declaration order
+	 */
+	public List<String> getMethodParameterNames(ExecutableElement element) {
+		/*
+		 * Method protection
+		 */
+		requireNonNull(element, "Argument 'element' cannot be null.");
+		/*
+		 * Result
+		 */
+		List<String> result = new ArrayList<>();
+		for (VariableElement parameter : element.getParameters()) {
+			result.add(getName(parameter));
+		}
+		return result;
+	}
+
 	/**
 	 * Get the returning type of a method
 	 * @param element The element
@@ -0,0 +1,81 @@
+package br.com.easymath.runtime;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A formula compiled at runtime by the {@link FormulaEngine}. Instances are
+ * immutable and can be shared between threads.
+ *
+ * @author eduardovalentim
+ *
+ * @param <T>
+ *            The type of the result
+ */
+public abstract class CompiledFormula<T extends Number> {
+
+	private final String formula;
+
+	private final List<String> inputs;
+
+	/**
+	 * Protected constructor
+	 *
+	 * @param formula
+	 *            The text of the formula
+	 * @param inputs
+	 *            The input names, in the order expected by the evaluation
+	 */
+	protected CompiledFormula(String formula, List<String> inputs) {
+		this.formula = formula;
+		this.inputs = Collections.unmodifiableList(inputs);
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The text of the formula
+	 */
+	public String getFormula() {
+		return formula;
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The input names, in the order of their first appearance in the
+	 *         formula
+	 */
+	public List<String> getInputs() {
+		return inputs;
+	}
+
+	/**
+	 * Evaluate the formula
+	 *
+	 * @param inputs
+	 *            The inputs, in the order of {@link #getInputs()}
+	 * @return The result of the calculation
+	 */
+	public abstract T evaluate(Number... inputs);
+
+	/**
+	 * Check the number of inputs informed for a evaluation
+	 *
+	 * @param length
+	 *            The number of inputs informed
+	 */
+	protected void checkLength(int length) {
+		if (length != inputs.size())
+			throw new IllegalArgumentException(
+					"Length mismatch for argument 'inputs'. Expected '" + inputs.size() + "' actual '" + length + "'");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return formula;
+	}
+}
@@ -0,0 +1,73 @@
+package br.com.easymath.runtime;
+
+import static br.com.easymath.Numbers.toBigDecimal;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A formula compiled at runtime over the {@link BigDecimal} type
+ *
+ * @author eduardovalentim
+ */
+public class DecimalFormula extends CompiledFormula<BigDecimal> {
+
+	/**
+	 * A operation of the formula reading and writing the slots of a evaluation
+	 */
+	@FunctionalInterface
+	interface Step {
+
+		void execute(BigDecimal[] slots);
+
+	}
+
+	private final BigDecimal[] slots;
+
+	private final Step[] steps;
+
+	private final int result;
+
+	/**
+	 * Package constructor, instances are created by the {@link FormulaEngine}
+	 *
+	 * @param formula
+	 *            The text of the formula
+	 * @param inputs
+	 *            The input names
+	 * @param slots
+	 *            The initial slots, the inputs first followed by the constants
+	 *            and the operation results
+	 * @param steps
+	 *            The operations in evaluation order
+	 * @param result
+	 *            The slot holding the result
+	 */
+	DecimalFormula(String formula, List<String> inputs, BigDecimal[] slots, Step[] steps, int result) {
+		super(formula, inputs);
+		this.slots = slots;
+		this.steps = steps;
+		this.result = result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BigDecimal evaluate(Number... inputs) {
+		if (inputs == null)
+			throw new IllegalArgumentException("Argument 'inputs' cannot be null.");
+		checkLength(inputs.length);
+
+		BigDecimal[] values = slots.clone();
+		for (int i = 0; i < inputs.length; i++) {
+			values[i] = toBigDecimal(inputs[i], i);
+		}
+
+		for (Step step : steps) {
+			step.execute(values);
+		}
+
+		return values[result];
+	}
+}
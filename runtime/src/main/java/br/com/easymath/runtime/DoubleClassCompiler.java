@@ -0,0 +1,387 @@
+package br.com.easymath.runtime;
+
+import static br.com.easymath.Numbers.toDouble;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.math.MathContext;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.easymath.FunctionCatalog;
+import br.com.easymath.FunctionHandle;
+import br.com.easymath.functions.PowerFunction;
+import br.com.easymath.processor.mathematical.grammar.FunctionModel;
+import br.com.easymath.processor.mathematical.operation.BinaryOperation;
+import br.com.easymath.processor.mathematical.operation.FunctionOperation;
+import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.UnaryOperation;
+import br.com.easymath.processor.mathematical.operation.operand.ConstantOperand;
+import br.com.easymath.processor.mathematical.operation.operand.InputOperand;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
+import br.com.easymath.processor.mathematical.utils.InlineUtils;
+
+/**
+ * Compile a <code>double</code> formula model into a class implementing
+ * {@link ToDoubleFunction} over the inputs array, loaded by its own class
+ * loader. The generated source only references JDK types: the catalog
+ * functions are received as primitive functional interfaces and the core
+ * functions that were not overridden are inlined, exactly as in the classes
+ * generated by the processor.
+ *
+ * @author eduardovalentim
+ */
+class DoubleClassCompiler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DoubleClassCompiler.class);
+
+	private static final String PACKAGE = "br.com.easymath.runtime.generated";
+
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	private final FunctionCatalog catalog;
+
+	private final MathContext mc;
+
+	/**
+	 * Package constructor
+	 *
+	 * @param catalog
+	 *            The catalog resolving the functions of the formula
+	 * @param mc
+	 *            The mathematical context informed to the functions
+	 */
+	DoubleClassCompiler(FunctionCatalog catalog, MathContext mc) {
+		this.catalog = catalog;
+		this.mc = mc;
+	}
+
+	/**
+	 * Check if the java compiler is available, it is not in a JRE
+	 *
+	 * @return True if formulas can be compiled into classes
+	 */
+	static boolean isAvailable() {
+		return ToolProvider.getSystemJavaCompiler() != null;
+	}
+
+	/**
+	 * Compile the model into a new class and create its instance
+	 *
+	 * @param model
+	 *            The optimized model of the formula
+	 * @return The evaluation of the formula over the inputs array or null if
+	 *         the class could not be compiled or loaded
+	 */
+	ToDoubleFunction<double[]> compile(FunctionModel model) {
+		String name = "Formula" + SEQUENCE.getAndIncrement();
+		List<Object> functions = new LinkedList<>();
+		String source = source(name, model, functions);
+
+		LOGGER.debug("Compiling class {} for formula {}", name, model.getFormula().value());
+		LOGGER.trace(source);
+
+		MemoryClassLoader loader = new MemoryClassLoader(DoubleClassCompiler.class.getClassLoader());
+		ToDoubleFunction<double[]> evaluator = null;
+
+		try {
+			compile(PACKAGE + "." + name, source, loader);
+
+			Class<?> type = loader.loadClass(PACKAGE + "." + name);
+
+			@SuppressWarnings("unchecked")
+			ToDoubleFunction<double[]> instance = (ToDoubleFunction<double[]>) type.getConstructor(Object[].class)
+					.newInstance(new Object[] { functions.toArray() });
+
+			evaluator = instance;
+		} catch (IllegalStateException | ClassNotFoundException | InstantiationException | IllegalAccessException
+				| InvocationTargetException | NoSuchMethodException ex) {
+			LOGGER.warn("Error compiling the class for formula {}", model.getFormula().value(), ex);
+		}
+
+		return evaluator;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private String source(String name, FunctionModel model, List<Object> functions) {
+		StringBuilder fields = new StringBuilder();
+		StringBuilder body = new StringBuilder();
+		/*
+		 * The inputs are declared starting with a '$' and the parameter ending
+		 * with one, so they hide neither each other nor the classes used by
+		 * the inlined expressions
+		 */
+		Set<String> inputs = new HashSet<>();
+		for (InputOperand input : model.getInputs()) {
+			inputs.add(input.getId());
+		}
+		UnaryOperator<String> names = id -> inputs.contains(id) ? "$" + id : id;
+
+		for (ConstantOperand constant : model.getConstants()) {
+			fields.append("    private static final double ").append(constant.getId()).append(" = ")
+					.append(constant.getValue()).append("D;\n");
+		}
+
+		int index = 0;
+		for (InputOperand input : model.getInputs()) {
+			body.append("        double ").append(names.apply(input.getId())).append(" = inputs$[").append(index++)
+					.append("];\n");
+		}
+
+		for (Operation operation : model.getOperations()) {
+			body.append("        double ").append(operation.getId()).append(" = ")
+					.append(expression(operation, functions, names)).append(";\n");
+		}
+
+		StringBuilder constructor = new StringBuilder();
+		for (int i = 0; i < functions.size(); i++) {
+			String type = type(functions.get(i));
+			fields.append("    private final ").append(type).append(" f").append(i).append(";\n");
+			constructor.append("        this.f").append(i).append(" = (").append(type).append(") functions[")
+					.append(i).append("];\n");
+		}
+
+		return "package " + PACKAGE + ";\n\n"
+				+ "public final class " + name + " implements java.util.function.ToDoubleFunction<double[]> {\n\n"
+				+ fields + "\n"
+				+ "    public " + name + "(Object[] functions) {\n" + constructor + "    }\n\n"
+				+ "    @Override\n"
+				+ "    public double applyAsDouble(double[] inputs$) {\n" + body
+				+ "        return " + names.apply(model.getResult().getId()) + ";\n"
+				+ "    }\n"
+				+ "}\n";
+	}
+
+	private String expression(Operation operation, List<Object> functions, UnaryOperator<String> names) {
+		String operator = operation.getOperator();
+		String expression = null;
+
+		if (operation instanceof UnaryOperation) {
+			String a = names.apply(((UnaryOperation) operation).getOperand().getId());
+
+			if ("!".equals(operator)) {
+				final FunctionHandle<? extends Number> function = FormulaEngine.resolve(catalog, operation);
+				expression = call(functions, (DoubleUnaryOperator) x -> function.performAsDouble(mc, x), a);
+			} else if ("-".equals(operator)) {
+				expression = "-" + a;
+			} else if ("+".equals(operator)) {
+				expression = a;
+			}
+		} else if (operation instanceof BinaryOperation) {
+			BinaryOperation binary = (BinaryOperation) operation;
+			String a = names.apply(binary.getLeftOperand().getId());
+			String b = names.apply(binary.getRightOperand().getId());
+
+			if ("^".equals(operator)) {
+				final FunctionHandle<? extends Number> function = FormulaEngine.resolve(catalog, operation);
+
+				if (isBuiltIn(operation, function)) {
+					expression = InlineUtils.toDoubleExpression(operation, names);
+				} else {
+					expression = call(functions, (DoubleBinaryOperator) (x, y) -> function.performAsDouble(mc, x, y),
+							a, b);
+				}
+			} else if ("*".equals(operator) || "/".equals(operator) || "%".equals(operator)
+					|| "+".equals(operator) || "-".equals(operator)) {
+				expression = a + " " + operator + " " + b;
+			}
+		} else if (operation instanceof FunctionOperation) {
+			final FunctionHandle<? extends Number> function = FormulaEngine.resolve(catalog, operation);
+
+			List<String> arguments = new LinkedList<>();
+			for (Operand operand : ((FunctionOperation) operation).getOperands()) {
+				arguments.add(names.apply(operand.getId()));
+			}
+
+			if (isBuiltIn(operation, function)) {
+				expression = InlineUtils.toDoubleExpression(operation, names);
+			} else if (arguments.size() == 1) {
+				expression = call(functions, (DoubleUnaryOperator) x -> function.performAsDouble(mc, x),
+						arguments.get(0));
+			} else if (arguments.size() == 2) {
+				expression = call(functions, (DoubleBinaryOperator) (x, y) -> function.performAsDouble(mc, x, y),
+						arguments.get(0), arguments.get(1));
+			} else {
+				ToDoubleFunction<double[]> adapter = values -> {
+					Number[] boxed = new Number[values.length];
+					for (int i = 0; i < values.length; i++) {
+						boxed[i] = values[i];
+					}
+					return toDouble(function.perform(mc, boxed), 0);
+				};
+				expression = call(functions, adapter, "new double[] { " + String.join(", ", arguments) + " }");
+			}
+		}
+
+		if (expression == null)
+			throw new IllegalStateException("Operation not supported: " + operation.getText());
+
+		return expression;
+	}
+
+	private boolean isBuiltIn(Operation operation, FunctionHandle<? extends Number> function) {
+		String name = operation instanceof FunctionOperation ? ((FunctionOperation) operation).getName()
+				: PowerFunction.INSTANCE.name();
+
+		return InlineUtils.isInlineable(operation) && function.getFunction() == InlineUtils.getBuiltIn(name);
+	}
+
+	private String call(List<Object> functions, Object function, String... arguments) {
+		functions.add(function);
+
+		/* All the primitive functional interfaces used share the method name */
+		return "f" + (functions.size() - 1) + ".applyAsDouble(" + String.join(", ", arguments) + ")";
+	}
+
+	private String type(Object function) {
+		String type;
+
+		if (function instanceof DoubleUnaryOperator) {
+			type = "java.util.function.DoubleUnaryOperator";
+		} else if (function instanceof DoubleBinaryOperator) {
+			type = "java.util.function.DoubleBinaryOperator";
+		} else {
+			type = "java.util.function.ToDoubleFunction<double[]>";
+		}
+
+		return type;
+	}
+
+	private void compile(String name, String source, MemoryClassLoader loader) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		JavaFileObject unit = new SourceFile(name, source);
+		Boolean success;
+		/*
+		 * Closing the manager releases the jar files opened by the standard one
+		 */
+		try (MemoryFileManager manager = new MemoryFileManager(
+				compiler.getStandardFileManager(diagnostics, null, null), loader)) {
+			success = compiler.getTask(null, manager, diagnostics, Arrays.asList("-proc:none", "-g:none"), null,
+					Arrays.asList(unit)).call();
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+
+		if (!Boolean.TRUE.equals(success)) {
+			StringBuilder buffer = new StringBuilder("Error compiling class ").append(name);
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				buffer.append(System.getProperty("line.separator")).append(diagnostic.getMessage(null));
+			}
+			throw new IllegalStateException(buffer.toString());
+		}
+	}
+
+	/**
+	 * A source file held in memory
+	 */
+	private static class SourceFile extends SimpleJavaFileObject {
+
+		private final String source;
+
+		SourceFile(String name, String source) {
+			super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.source = source;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return source;
+		}
+	}
+
+	/**
+	 * A class file written in memory
+	 */
+	private static class ClassFile extends SimpleJavaFileObject {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		ClassFile(String name) {
+			super(URI.create("bytes:///" + name.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return bytes;
+		}
+
+		byte[] getBytes() {
+			return bytes.toByteArray();
+		}
+	}
+
+	/**
+	 * A file manager writing the compiled classes to the memory class loader
+	 */
+	private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+		private final MemoryClassLoader loader;
+
+		MemoryFileManager(StandardJavaFileManager manager, MemoryClassLoader loader) {
+			super(manager);
+			this.loader = loader;
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind,
+				FileObject sibling) {
+			ClassFile file = new ClassFile(className);
+			loader.classes.put(className, file);
+
+			return file;
+		}
+	}
+
+	/**
+	 * A class loader for the classes compiled in memory
+	 */
+	private static class MemoryClassLoader extends ClassLoader {
+
+		private final Map<String, ClassFile> classes = new HashMap<>();
+
+		MemoryClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			ClassFile file = classes.remove(name);
+			if (file == null)
+				throw new ClassNotFoundException(name);
+
+			byte[] bytes = file.getBytes();
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+}
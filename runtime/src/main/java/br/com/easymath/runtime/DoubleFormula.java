@@ -0,0 +1,72 @@
+package br.com.easymath.runtime;
+
+import static br.com.easymath.Numbers.toDouble;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A formula compiled at runtime over the primitive <code>double</code> type
+ *
+ * @author eduardovalentim
+ */
+public class DoubleFormula extends CompiledFormula<Double> {
+
+	private final ToDoubleFunction<double[]> evaluator;
+
+	/**
+	 * Package constructor, instances are created by the {@link FormulaEngine}
+	 *
+	 * @param formula
+	 *            The text of the formula
+	 * @param inputs
+	 *            The input names
+	 * @param evaluator
+	 *            The evaluation of the formula over the inputs
+	 */
+	DoubleFormula(String formula, List<String> inputs, ToDoubleFunction<double[]> evaluator) {
+		super(formula, inputs);
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * Get
+	 *
+	 * @return The evaluation of the formula over the inputs
+	 */
+	ToDoubleFunction<double[]> getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Double evaluate(Number... inputs) {
+		if (inputs == null)
+			throw new IllegalArgumentException("Argument 'inputs' cannot be null.");
+		checkLength(inputs.length);
+
+		double[] values = new double[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
+			values[i] = toDouble(inputs[i], i);
+		}
+
+		return evaluateAsDouble(values);
+	}
+
+	/**
+	 * Evaluate the formula without boxing
+	 *
+	 * @param inputs
+	 *            The inputs, in the order of {@link #getInputs()}
+	 * @return The result of the calculation
+	 */
+	public double evaluateAsDouble(double... inputs) {
+		if (inputs == null)
+			throw new IllegalArgumentException("Argument 'inputs' cannot be null.");
+		checkLength(inputs.length);
+
+		return evaluator.applyAsDouble(inputs);
+	}
+}
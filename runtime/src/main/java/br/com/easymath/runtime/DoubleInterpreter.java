@@ -0,0 +1,60 @@
+package br.com.easymath.runtime;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The evaluation of a <code>double</code> formula as a sequence of steps over
+ * a array of slots. Used when the java compiler is not available at runtime.
+ *
+ * @author eduardovalentim
+ */
+class DoubleInterpreter implements ToDoubleFunction<double[]> {
+
+	/**
+	 * A operation of the formula reading and writing the slots of a evaluation
+	 */
+	@FunctionalInterface
+	interface Step {
+
+		void execute(double[] slots);
+
+	}
+
+	private final double[] slots;
+
+	private final Step[] steps;
+
+	private final int result;
+
+	/**
+	 * Package constructor
+	 *
+	 * @param slots
+	 *            The initial slots, the inputs first followed by the constants
+	 *            and the operation results
+	 * @param steps
+	 *            The operations in evaluation order
+	 * @param result
+	 *            The slot holding the result
+	 */
+	DoubleInterpreter(double[] slots, Step[] steps, int result) {
+		this.slots = slots;
+		this.steps = steps;
+		this.result = result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double applyAsDouble(double[] inputs) {
+		double[] values = slots.clone();
+		System.arraycopy(inputs, 0, values, 0, inputs.length);
+
+		for (Step step : steps) {
+			step.execute(values);
+		}
+
+		return values[result];
+	}
+}
@@ -0,0 +1,532 @@
+package br.com.easymath.runtime;
+
+import static br.com.easymath.Numbers.toBigDecimal;
+import static br.com.easymath.Numbers.toDouble;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.easymath.FunctionCatalog;
+import br.com.easymath.FunctionHandle;
+import br.com.easymath.annotations.Formula;
+import br.com.easymath.functions.CoreFunctionCatalog;
+import br.com.easymath.functions.FactorialFunction;
+import br.com.easymath.functions.PowerFunction;
+import br.com.easymath.processor.mathematical.grammar.FunctionModel;
+import br.com.easymath.processor.mathematical.grammar.FunctionModelBuilder;
+import br.com.easymath.processor.mathematical.operation.AbstractOperation;
+import br.com.easymath.processor.mathematical.operation.BinaryOperation;
+import br.com.easymath.processor.mathematical.operation.FunctionOperation;
+import br.com.easymath.processor.mathematical.operation.Operation;
+import br.com.easymath.processor.mathematical.operation.UnaryOperation;
+import br.com.easymath.processor.mathematical.operation.operand.ConstantOperand;
+import br.com.easymath.processor.mathematical.operation.operand.InputOperand;
+import br.com.easymath.processor.mathematical.operation.operand.Operand;
+import br.com.easymath.processor.mathematical.optimization.CommonSubexpressionElimination;
+import br.com.easymath.processor.mathematical.optimization.ConstantFolding;
+
+/**
+ * Compile formulas at runtime, with the same grammar, optimizations and
+ * semantics of the classes generated from {@link Formula} annotations. The
+ * functions are resolved from the catalogs when the formula is compiled.
+ *
+ * Compiled formulas are cached by text, type, precision and rounding mode, so
+ * compiling the same formula again returns the same instance. The cache keeps
+ * the most recently compiled or requested formulas, 256 by default, evicting
+ * the least recently used one beyond the limit. A evicted formula keeps working
+ * for the callers holding it, and its class is unloaded once no longer
+ * referenced, so formulas changing over time do not accumulate.
+ *
+ * @author eduardovalentim
+ */
+public class FormulaEngine {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FormulaEngine.class);
+
+	private static final int DEFAULT_PRECISION = 7;
+
+	private static final RoundingMode DEFAULT_ROUNDING_MODE = RoundingMode.HALF_UP;
+
+	/**
+	 * The default maximum number of compiled formulas in the cache
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 256;
+
+	private final FunctionCatalog catalog;
+
+	private final boolean compiling;
+
+	private final Map<String, CompiledFormula<?>> cache;
+
+	/**
+	 * Public constructor with catalog customization. The <code>double</code>
+	 * formulas are compiled into classes when the java compiler is available.
+	 *
+	 * @param catalogs
+	 *            The catalogs overriding or extending the core functions
+	 */
+	public FormulaEngine(FunctionCatalog... catalogs) {
+		this(DoubleClassCompiler.isAvailable(), catalogs);
+	}
+
+	/**
+	 * Public constructor with catalog customization
+	 *
+	 * @param compiling
+	 *            True to compile the <code>double</code> formulas into
+	 *            classes, false to interpret them
+	 * @param catalogs
+	 *            The catalogs overriding or extending the core functions
+	 */
+	public FormulaEngine(boolean compiling, FunctionCatalog... catalogs) {
+		this(compiling, DEFAULT_CACHE_SIZE, catalogs);
+	}
+
+	/**
+	 * Public constructor with catalog and cache customization
+	 *
+	 * @param compiling
+	 *            True to compile the <code>double</code> formulas into
+	 *            classes, false to interpret them
+	 * @param cacheSize
+	 *            The maximum number of compiled formulas kept in the cache,
+	 *            zero to disable the cache
+	 * @param catalogs
+	 *            The catalogs overriding or extending the core functions
+	 */
+	public FormulaEngine(boolean compiling, int cacheSize, FunctionCatalog... catalogs) {
+		/*
+		 * Method protection
+		 */
+		if (cacheSize < 0)
+			throw new IllegalArgumentException("Argument 'cacheSize' cannot be negative.");
+		if (catalogs == null)
+			throw new IllegalArgumentException("Argument 'catalogs' cannot be null.");
+		if (compiling && !DoubleClassCompiler.isAvailable())
+			throw new IllegalStateException("The java compiler is not available, run on a JDK.");
+		/*
+		 * Join the default catalog with all informed, sharing it if none
+		 */
+		this.catalog = catalogs.length == 0 ? CoreFunctionCatalog.INSTANCE : new CoreFunctionCatalog().join(catalogs);
+		this.compiling = compiling;
+		this.cache = new LinkedHashMap<String, CompiledFormula<?>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CompiledFormula<?>> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * Compile a formula over the primitive <code>double</code> type with the
+	 * default precision and rounding mode
+	 *
+	 * @param formula
+	 *            The text of the formula
+	 * @return The compiled formula
+	 */
+	public DoubleFormula compile(String formula) {
+		return compile(formula, DEFAULT_PRECISION, DEFAULT_ROUNDING_MODE);
+	}
+
+	/**
+	 * Compile a formula over the primitive <code>double</code> type
+	 *
+	 * @param formula
+	 *            The text of the formula
+	 * @param precision
+	 *            The precision informed to the functions
+	 * @param roundingMode
+	 *            The rounding mode informed to the functions
+	 * @return The compiled formula
+	 */
+	public DoubleFormula compile(String formula, int precision, RoundingMode roundingMode) {
+		return (DoubleFormula) cached(key(formula, "double", precision, roundingMode),
+				() -> compileDouble(formula, precision, roundingMode));
+	}
+
+	/**
+	 * Compile a formula over the {@link BigDecimal} type with the default
+	 * precision and rounding mode
+	 *
+	 * @param formula
+	 *            The text of the formula
+	 * @return The compiled formula
+	 */
+	public DecimalFormula compileDecimal(String formula) {
+		return compileDecimal(formula, DEFAULT_PRECISION, DEFAULT_ROUNDING_MODE);
+	}
+
+	/**
+	 * Compile a formula over the {@link BigDecimal} type
+	 *
+	 * @param formula
+	 *            The text of the formula
+	 * @param precision
+	 *            The precision of each operation
+	 * @param roundingMode
+	 *            The rounding mode of each operation
+	 * @return The compiled formula
+	 */
+	public DecimalFormula compileDecimal(String formula, int precision, RoundingMode roundingMode) {
+		return (DecimalFormula) cached(key(formula, "decimal", precision, roundingMode),
+				() -> compileDecimalFormula(formula, precision, roundingMode));
+	}
+
+	/**
+	 * Remove all the compiled formulas from the cache
+	 */
+	public void clearCache() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private CompiledFormula<?> cached(String key, Supplier<CompiledFormula<?>> compiler) {
+		CompiledFormula<?> result;
+
+		synchronized (cache) {
+			result = cache.get(key);
+		}
+		/*
+		 * Compile out of the lock, the first of concurrent compilations wins
+		 */
+		if (result == null) {
+			CompiledFormula<?> compiled = compiler.get();
+			synchronized (cache) {
+				result = cache.get(key);
+				if (result == null) {
+					cache.put(key, compiled);
+					result = compiled;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private String key(String formula, String type, int precision, RoundingMode roundingMode) {
+		return type + "|" + precision + "|" + roundingMode + "|" + formula;
+	}
+
+	private DoubleFormula compileDouble(String formula, int precision, RoundingMode roundingMode) {
+		FunctionModel model = model(formula, "double", precision, roundingMode);
+		MathContext mc = new MathContext(precision, roundingMode);
+		ToDoubleFunction<double[]> evaluator = null;
+
+		if (compiling) {
+			evaluator = new DoubleClassCompiler(catalog, mc).compile(model);
+		}
+		/*
+		 * Interpret the formula if the class could not be compiled
+		 */
+		if (evaluator == null) {
+			evaluator = interpreter(model, mc);
+		}
+
+		return new DoubleFormula(formula, inputs(model), evaluator);
+	}
+
+	private DoubleInterpreter interpreter(FunctionModel model, MathContext mc) {
+		Map<String, Integer> slots = slots(model);
+
+		double[] values = new double[slots.size()];
+		for (ConstantOperand constant : model.getConstants()) {
+			values[slots.get(constant.getId())] = Double.parseDouble(constant.getValue());
+		}
+
+		List<DoubleInterpreter.Step> steps = new LinkedList<>();
+		for (Operation operation : model.getOperations()) {
+			steps.add(doubleStep(operation, slots, mc));
+		}
+
+		return new DoubleInterpreter(values, steps.toArray(new DoubleInterpreter.Step[steps.size()]),
+				slots.get(model.getResult().getId()));
+	}
+
+	private DecimalFormula compileDecimalFormula(String formula, int precision, RoundingMode roundingMode) {
+		FunctionModel model = model(formula, BigDecimal.class.getCanonicalName(), precision, roundingMode);
+		MathContext mc = new MathContext(precision, roundingMode);
+		Map<String, Integer> slots = slots(model);
+
+		BigDecimal[] values = new BigDecimal[slots.size()];
+		for (ConstantOperand constant : model.getConstants()) {
+			values[slots.get(constant.getId())] = new BigDecimal(constant.getValue());
+		}
+
+		List<DecimalFormula.Step> steps = new LinkedList<>();
+		for (Operation operation : model.getOperations()) {
+			steps.add(decimalStep(operation, slots, mc));
+		}
+
+		return new DecimalFormula(formula, inputs(model), values,
+				steps.toArray(new DecimalFormula.Step[steps.size()]), slots.get(model.getResult().getId()));
+	}
+
+	private FunctionModel model(String formula, String type, int precision, RoundingMode roundingMode) {
+		/*
+		 * Method protection block
+		 */
+		if (formula == null)
+			throw new IllegalArgumentException("Argument 'formula' cannot be null.");
+		if (precision < 0)
+			throw new IllegalArgumentException("Argument 'precision' cannot be negative.");
+		if (roundingMode == null)
+			throw new IllegalArgumentException("Argument 'roundingMode' cannot be null.");
+
+		LOGGER.debug("Compiling formula at runtime: {}", formula);
+
+		return new FunctionModelBuilder()
+				.withClassName(FormulaEngine.class.getName())
+				.withMethodName("formula")
+				.withType(type)
+				.withFormula(new RuntimeFormula(formula, precision, roundingMode))
+				.withConstants(new LinkedHashSet<ConstantOperand>())
+				.withCatalog(catalog)
+				.withOptimizations(new ConstantFolding(), new CommonSubexpressionElimination(catalog))
+				.build();
+	}
+
+	private List<String> inputs(FunctionModel model) {
+		List<String> inputs = new LinkedList<>();
+		for (InputOperand input : model.getInputs()) {
+			inputs.add(input.getId());
+		}
+
+		return inputs;
+	}
+
+	private Map<String, Integer> slots(FunctionModel model) {
+		Map<String, Integer> slots = new HashMap<>();
+
+		for (InputOperand input : model.getInputs()) {
+			slots.put(input.getId(), slots.size());
+		}
+		for (ConstantOperand constant : model.getConstants()) {
+			slots.put(constant.getId(), slots.size());
+		}
+		for (Operation operation : model.getOperations()) {
+			slots.put(operation.getId(), slots.size());
+		}
+
+		return slots;
+	}
+
+	private int[] operands(Operation operation, Map<String, Integer> slots) {
+		List<Operand> operands = new LinkedList<>(((AbstractOperation) operation).getOperands());
+		int[] result = new int[operands.size()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = slots.get(operands.get(i).getId());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Resolve the function of a operation from the catalog, including the
+	 * functions behind the '^' and '!' operators
+	 *
+	 * @param catalog
+	 *            The catalog
+	 * @param operation
+	 *            The operation
+	 * @return The handle of the function
+	 */
+	static FunctionHandle<? extends Number> resolve(FunctionCatalog catalog, Operation operation) {
+		String name;
+
+		if (operation instanceof FunctionOperation) {
+			name = ((FunctionOperation) operation).getName();
+		} else if ("^".equals(operation.getOperator())) {
+			name = PowerFunction.INSTANCE.name();
+		} else {
+			name = FactorialFunction.INSTANCE.name();
+		}
+
+		return catalog.resolve(name);
+	}
+
+	private DoubleInterpreter.Step doubleStep(Operation operation, Map<String, Integer> slots, MathContext mc) {
+		final int target = slots.get(operation.getId());
+		final int[] operands = operands(operation, slots);
+		final String operator = operation.getOperator();
+
+		DoubleInterpreter.Step step = null;
+
+		if (operation instanceof UnaryOperation) {
+			final int a = operands[0];
+
+			if ("!".equals(operator)) {
+				final FunctionHandle<? extends Number> function = resolve(catalog, operation);
+				step = s -> s[target] = function.performAsDouble(mc, s[a]);
+			} else if ("-".equals(operator)) {
+				step = s -> s[target] = -s[a];
+			} else if ("+".equals(operator)) {
+				step = s -> s[target] = s[a];
+			}
+		} else if (operation instanceof BinaryOperation) {
+			final int a = operands[0];
+			final int b = operands[1];
+
+			if ("^".equals(operator)) {
+				final FunctionHandle<? extends Number> function = resolve(catalog, operation);
+				step = s -> s[target] = function.performAsDouble(mc, s[a], s[b]);
+			} else if ("*".equals(operator)) {
+				step = s -> s[target] = s[a] * s[b];
+			} else if ("/".equals(operator)) {
+				step = s -> s[target] = s[a] / s[b];
+			} else if ("%".equals(operator)) {
+				step = s -> s[target] = s[a] % s[b];
+			} else if ("+".equals(operator)) {
+				step = s -> s[target] = s[a] + s[b];
+			} else if ("-".equals(operator)) {
+				step = s -> s[target] = s[a] - s[b];
+			}
+		} else if (operation instanceof FunctionOperation) {
+			final FunctionHandle<? extends Number> function = resolve(catalog, operation);
+
+			if (operands.length == 1) {
+				step = s -> s[target] = function.performAsDouble(mc, s[operands[0]]);
+			} else if (operands.length == 2) {
+				step = s -> s[target] = function.performAsDouble(mc, s[operands[0]], s[operands[1]]);
+			} else {
+				step = s -> {
+					Number[] arguments = new Number[operands.length];
+					for (int i = 0; i < operands.length; i++) {
+						arguments[i] = s[operands[i]];
+					}
+					s[target] = toDouble(function.perform(mc, arguments), 0);
+				};
+			}
+		}
+
+		if (step == null)
+			throw new IllegalStateException("Operation not supported: " + operation.getText());
+
+		return step;
+	}
+
+	private DecimalFormula.Step decimalStep(Operation operation, Map<String, Integer> slots, MathContext mc) {
+		final int target = slots.get(operation.getId());
+		final int[] operands = operands(operation, slots);
+		final String operator = operation.getOperator();
+
+		DecimalFormula.Step step = null;
+
+		if (operation instanceof UnaryOperation) {
+			final int a = operands[0];
+
+			if ("!".equals(operator)) {
+				final FunctionHandle<? extends Number> function = resolve(catalog, operation);
+				step = s -> s[target] = function.performAsDecimal(mc, s[a]);
+			} else if ("-".equals(operator)) {
+				step = s -> s[target] = s[a].negate(mc);
+			} else if ("+".equals(operator)) {
+				step = s -> s[target] = s[a];
+			}
+		} else if (operation instanceof BinaryOperation) {
+			final int a = operands[0];
+			final int b = operands[1];
+
+			if ("^".equals(operator)) {
+				final FunctionHandle<? extends Number> function = resolve(catalog, operation);
+				step = s -> s[target] = function.performAsDecimal(mc, s[a], s[b]);
+			} else if ("*".equals(operator)) {
+				step = s -> s[target] = s[a].multiply(s[b], mc);
+			} else if ("/".equals(operator)) {
+				step = s -> s[target] = s[a].divide(s[b], mc);
+			} else if ("%".equals(operator)) {
+				step = s -> s[target] = s[a].remainder(s[b], mc);
+			} else if ("+".equals(operator)) {
+				step = s -> s[target] = s[a].add(s[b], mc);
+			} else if ("-".equals(operator)) {
+				step = s -> s[target] = s[a].subtract(s[b], mc);
+			}
+		} else if (operation instanceof FunctionOperation) {
+			final FunctionHandle<? extends Number> function = resolve(catalog, operation);
+
+			if (operands.length == 1) {
+				step = s -> s[target] = function.performAsDecimal(mc, s[operands[0]]);
+			} else if (operands.length == 2) {
+				step = s -> s[target] = function.performAsDecimal(mc, s[operands[0]], s[operands[1]]);
+			} else {
+				step = s -> {
+					Number[] arguments = new Number[operands.length];
+					for (int i = 0; i < operands.length; i++) {
+						arguments[i] = s[operands[i]];
+					}
+					s[target] = toBigDecimal(function.perform(mc, arguments), 0);
+				};
+			}
+		}
+
+		if (step == null)
+			throw new IllegalStateException("Operation not supported: " + operation.getText());
+
+		return step;
+	}
+
+	/**
+	 * The formula definition of a text compiled at runtime
+	 */
+	private static class RuntimeFormula implements Formula {
+
+		private final String value;
+
+		private final int precision;
+
+		private final RoundingMode roundingMode;
+
+		RuntimeFormula(String value, int precision, RoundingMode roundingMode) {
+			this.value = value;
+			this.precision = precision;
+			this.roundingMode = roundingMode;
+		}
+
+		@Override
+		public Class<? extends Annotation> annotationType() {
+			return Formula.class;
+		}
+
+		@Override
+		public String value() {
+			return value;
+		}
+
+		@Override
+		public int precision() {
+			return precision;
+		}
+
+		@Override
+		public RoundingMode roundingMode() {
+			return roundingMode;
+		}
+
+		@Override
+		public int scale() {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,246 @@
+package br.com.easymath.runtime;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import br.com.easymath.Function;
+import br.com.easymath.FunctionCatalog;
+
+public class FormulaEngineTest {
+
+	@Test
+	public void testCompileDouble() {
+		DoubleFormula formula = new FormulaEngine().compile("sqrt(a ^ 2 + b ^ 2)");
+
+		Assert.assertEquals(Arrays.asList("a", "b"), formula.getInputs());
+		Assert.assertEquals(5d, formula.evaluateAsDouble(3d, 4d), 0d);
+		Assert.assertEquals(5d, formula.evaluate(3, BigDecimal.valueOf(4)), 0d);
+	}
+
+	@Test
+	public void testCompileDoubleOperators() {
+		DoubleFormula formula = new FormulaEngine().compile("-(a - b) * 2 / c % 5 + 3!");
+
+		Assert.assertEquals(-(7d - 1d) * 2d / 3d % 5d + 6d, formula.evaluateAsDouble(7d, 1d, 3d), 0d);
+	}
+
+	@Test
+	public void testCompileDecimal() {
+		DecimalFormula formula = new FormulaEngine().compileDecimal("a / b");
+
+		Assert.assertEquals(new BigDecimal("3.333333"), formula.evaluate(BigDecimal.TEN, new BigDecimal("3")));
+	}
+
+	@Test
+	public void testCompileDecimalPrecision() {
+		DecimalFormula formula = new FormulaEngine().compileDecimal("1 / 3 * a", 3, RoundingMode.DOWN);
+
+		Assert.assertEquals(new BigDecimal("0.999"), formula.evaluate(3));
+	}
+
+	@Test
+	public void testCompileConstantOnly() {
+		DoubleFormula formula = new FormulaEngine().compile("2 * (3 + 4)");
+
+		Assert.assertTrue(formula.getInputs().isEmpty());
+		Assert.assertEquals(14d, formula.evaluateAsDouble(), 0d);
+	}
+
+	@Test
+	public void testCustomCatalog() {
+		FunctionCatalog catalog = FunctionCatalog.valueOf(new Function<Double>() {
+
+			@Override
+			public String name() {
+				return "twice";
+			}
+
+			@Override
+			public Double perform(MathContext mc, Number... inputs) {
+				return inputs[0].doubleValue() * 2;
+			}
+		});
+
+		DoubleFormula formula = new FormulaEngine(catalog).compile("twice(a) + 1");
+
+		Assert.assertEquals(7d, formula.evaluateAsDouble(3d), 0d);
+	}
+
+	@Test
+	public void testCompileIntoClass() {
+		Assume.assumeTrue(DoubleClassCompiler.isAvailable());
+
+		FunctionCatalog catalog = FunctionCatalog.valueOf(new Function<Double>() {
+
+			@Override
+			public String name() {
+				return "max";
+			}
+
+			@Override
+			public Double perform(MathContext mc, Number... inputs) {
+				double max = Double.NEGATIVE_INFINITY;
+				for (Number input : inputs) {
+					max = Math.max(max, input.doubleValue());
+				}
+				return max;
+			}
+		});
+
+		DoubleFormula formula = new FormulaEngine(true, catalog)
+				.compile("sqrt(a ^ 2 + b ^ 2) + 3! - -c + max(a, b, c)");
+
+		Assert.assertFalse(formula.getEvaluator() instanceof DoubleInterpreter);
+		Assert.assertEquals(5d + 6d + 1d + 4d, formula.evaluateAsDouble(3d, 4d, 1d), 0d);
+	}
+
+	@Test
+	public void testCompileIntoClassOverriddenFunction() {
+		Assume.assumeTrue(DoubleClassCompiler.isAvailable());
+
+		FunctionCatalog catalog = FunctionCatalog.valueOf(new Function<Double>() {
+
+			@Override
+			public String name() {
+				return "sqrt";
+			}
+
+			@Override
+			public Double perform(MathContext mc, Number... inputs) {
+				return -1d;
+			}
+		});
+
+		DoubleFormula formula = new FormulaEngine(true, catalog).compile("sqrt(a) + a ^ 2");
+
+		Assert.assertEquals(-1d + 16d, formula.evaluateAsDouble(4d), 0d);
+	}
+
+	@Test
+	public void testCompileIntoClassReservedNames() {
+		Assume.assumeTrue(DoubleClassCompiler.isAvailable());
+
+		FormulaEngine engine = new FormulaEngine(true, 0);
+
+		DoubleFormula inputs = engine.compile("inputs + b");
+		Assert.assertFalse(inputs.getEvaluator() instanceof DoubleInterpreter);
+		Assert.assertEquals(7d, inputs.evaluateAsDouble(3d, 4d), 0d);
+
+		DoubleFormula math = engine.compile("sqrt(Math) + Math ^ 2");
+		Assert.assertFalse(math.getEvaluator() instanceof DoubleInterpreter);
+		Assert.assertEquals(2d + 16d, math.evaluateAsDouble(4d), 0d);
+	}
+
+	@Test
+	public void testCompileIntoClassSquareRootPower() {
+		Assume.assumeTrue(DoubleClassCompiler.isAvailable());
+
+		for (boolean compiling : new boolean[] { true, false }) {
+			DoubleFormula formula = new FormulaEngine(compiling).compile("a ^ 0.5");
+
+			Assert.assertEquals(Double.valueOf(0d), Double.valueOf(formula.evaluateAsDouble(-0d)));
+			Assert.assertEquals(Double.POSITIVE_INFINITY, formula.evaluateAsDouble(Double.NEGATIVE_INFINITY), 0d);
+			Assert.assertEquals(3d, formula.evaluateAsDouble(9d), 0d);
+		}
+	}
+
+	@Test
+	public void testInterpreter() {
+		DoubleFormula formula = new FormulaEngine(false).compile("sqrt(a ^ 2 + b ^ 2)");
+
+		Assert.assertTrue(formula.getEvaluator() instanceof DoubleInterpreter);
+		Assert.assertEquals(5d, formula.evaluateAsDouble(3d, 4d), 0d);
+	}
+
+	@Test
+	public void testCache() {
+		FormulaEngine engine = new FormulaEngine();
+
+		Assert.assertSame(engine.compile("a * b"), engine.compile("a * b"));
+		Assert.assertNotSame(engine.compile("a * b"), engine.compile("a * b", 10, RoundingMode.HALF_UP));
+		Assert.assertSame(engine.compileDecimal("a * b"), engine.compileDecimal("a * b"));
+
+		DoubleFormula cached = engine.compile("a * b");
+		engine.clearCache();
+
+		Assert.assertNotSame(cached, engine.compile("a * b"));
+	}
+
+	@Test
+	public void testCacheEvictsLeastRecentlyUsed() {
+		FormulaEngine engine = new FormulaEngine(false, 2);
+
+		DoubleFormula first = engine.compile("a * b");
+		DoubleFormula second = engine.compile("a + b");
+		Assert.assertSame(first, engine.compile("a * b"));
+
+		engine.compile("a - b");
+
+		Assert.assertSame(first, engine.compile("a * b"));
+		Assert.assertNotSame(second, engine.compile("a + b"));
+		Assert.assertEquals(7d, second.evaluateAsDouble(3d, 4d), 0d);
+	}
+
+	@Test
+	public void testCacheDisabled() {
+		FormulaEngine engine = new FormulaEngine(false, 0);
+
+		Assert.assertNotSame(engine.compile("a * b"), engine.compile("a * b"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeCacheSize() {
+		new FormulaEngine(false, -1);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testCompileUnknownFunction() {
+		new FormulaEngine().compile("unknown(a)");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompileSyntaxError() {
+		new FormulaEngine().compile("a + * b");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompileArityMismatch() {
+		new FormulaEngine().compile("sqrt(a, b)");
+	}
+
+	@Test
+	public void testImpureFunctionIsNotReused() {
+		Function<Double> counter = new Function<Double>() {
+			private double count;
+
+			@Override
+			public String name() {
+				return "next";
+			}
+
+			@Override
+			public Double perform(MathContext mc, Number... inputs) {
+				return ++count;
+			}
+
+			@Override
+			public boolean isPure() {
+				return false;
+			}
+		};
+		FunctionCatalog catalog = FunctionCatalog.valueOf(counter);
+
+		Assert.assertEquals(1d + 2d, new FormulaEngine(false, catalog).compile("next(a) + next(a)").evaluateAsDouble(0d), 0d);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEvaluateLengthMismatch() {
+		new FormulaEngine().compile("a + b").evaluateAsDouble(1d);
+	}
+}